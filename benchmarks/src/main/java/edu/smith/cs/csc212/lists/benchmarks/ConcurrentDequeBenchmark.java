@@ -0,0 +1,288 @@
+package edu.smith.cs.csc212.lists.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.lists.ConcurrentDoublyLinkedList;
+import edu.smith.cs.csc212.lists.DoublyLinkedList;
+
+/**
+ * Measures a deque shared by many threads: the two-lock
+ * {@linkplain ConcurrentDoublyLinkedList} against a plain DoublyLinkedList
+ * behind one lock.
+ *
+ * The "queue" group has producers calling addBack and consumers calling
+ * pollFront; the "deque" group works all four ends at once; "pair" has every
+ * thread add to the back and poll the front. To see how each one scales, run
+ * it with more and more threads, from 1 up to 32, e.g.:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ConcurrentDequeBenchmark.queue -tg 8,8
+ * java -jar target/benchmarks.jar ConcurrentDequeBenchmark.pair -tg 32
+ * </pre>
+ *
+ * Producers skip their add once the deque holds {@linkplain #LIMIT} times
+ * prefill items, and each iteration starts from prefill again, so a fast
+ * producer can't grow the deque without bound and turn the numbers into a
+ * measure of allocation and GC.
+ *
+ * @author jfoley
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentDequeBenchmark {
+	/**
+	 * Which deque to measure: "ConcurrentDoublyLinkedList", or
+	 * "LockedDoublyLinkedList" for a DoublyLinkedList with one lock around it.
+	 */
+	@Param({ "ConcurrentDoublyLinkedList", "LockedDoublyLinkedList" })
+	public String impl;
+
+	/**
+	 * How many items are in the deque before we start, so that consumers don't
+	 * just see it empty.
+	 */
+	@Param({ "1000" })
+	public int prefill;
+
+	/**
+	 * Producers stop adding when the deque has this many times prefill items.
+	 */
+	private static final int LIMIT = 4;
+
+	/**
+	 * How many items the deque may hold before producers back off.
+	 */
+	private int cap;
+
+	/**
+	 * The deque under test.
+	 */
+	private Ends<Integer> deque;
+
+	/**
+	 * The four ends of a deque (and its size), so both versions look the same to the benchmarks.
+	 *
+	 * @param <T> - the type of item stored.
+	 */
+	private interface Ends<T> {
+		void addFront(T item);
+
+		void addBack(T item);
+
+		T pollFront();
+
+		T pollBack();
+
+		int size();
+	}
+
+	/**
+	 * ConcurrentDoublyLinkedList already has all of these.
+	 */
+	private static class Concurrent<T> implements Ends<T> {
+		private final ConcurrentDoublyLinkedList<T> list = new ConcurrentDoublyLinkedList<>();
+
+		@Override
+		public void addFront(T item) {
+			list.addFront(item);
+		}
+
+		@Override
+		public void addBack(T item) {
+			list.addBack(item);
+		}
+
+		@Override
+		public T pollFront() {
+			return list.pollFront();
+		}
+
+		@Override
+		public T pollBack() {
+			return list.pollBack();
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+	}
+
+	/**
+	 * A DoublyLinkedList where every operation holds the same lock.
+	 */
+	private static class Locked<T> implements Ends<T> {
+		private final DoublyLinkedList<T> list = new DoublyLinkedList<>();
+		private final ReentrantLock lock = new ReentrantLock();
+
+		@Override
+		public void addFront(T item) {
+			lock.lock();
+			try {
+				list.addFront(item);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void addBack(T item) {
+			lock.lock();
+			try {
+				list.addBack(item);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public T pollFront() {
+			lock.lock();
+			try {
+				return list.isEmpty() ? null : list.removeFront();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public T pollBack() {
+			lock.lock();
+			try {
+				return list.isEmpty() ? null : list.removeBack();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public int size() {
+			lock.lock();
+			try {
+				return list.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Build and fill the deque before each trial.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		switch (impl) {
+		case "ConcurrentDoublyLinkedList":
+			deque = new Concurrent<>();
+			break;
+		case "LockedDoublyLinkedList":
+			deque = new Locked<>();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown deque: " + impl);
+		}
+		cap = LIMIT * prefill;
+	}
+
+	/**
+	 * Put the deque back to prefill items before each iteration.
+	 */
+	@Setup(Level.Iteration)
+	public void refill() {
+		while (deque.size() > prefill) {
+			deque.pollFront();
+		}
+		while (deque.size() < prefill) {
+			deque.addBack(1);
+		}
+	}
+
+	/**
+	 * Add to the front, unless the deque is already at its cap.
+	 */
+	private void addFront() {
+		if (deque.size() < cap) {
+			deque.addFront(1);
+		}
+	}
+
+	/**
+	 * Add to the back, unless the deque is already at its cap.
+	 */
+	private void addBack() {
+		if (deque.size() < cap) {
+			deque.addBack(1);
+		}
+	}
+
+	@Benchmark
+	@Group("queue")
+	@GroupThreads(1)
+	public void queueProducer() {
+		addBack();
+	}
+
+	@Benchmark
+	@Group("queue")
+	@GroupThreads(1)
+	public Integer queueConsumer() {
+		return deque.pollFront();
+	}
+
+	@Benchmark
+	@Group("deque")
+	@GroupThreads(1)
+	public void dequeAddFront() {
+		addFront();
+	}
+
+	@Benchmark
+	@Group("deque")
+	@GroupThreads(1)
+	public void dequeAddBack() {
+		addBack();
+	}
+
+	@Benchmark
+	@Group("deque")
+	@GroupThreads(1)
+	public Integer dequePollFront() {
+		return deque.pollFront();
+	}
+
+	@Benchmark
+	@Group("deque")
+	@GroupThreads(1)
+	public Integer dequePollBack() {
+		return deque.pollBack();
+	}
+
+	@Benchmark
+	@Group("pair")
+	@GroupThreads(1)
+	public Integer pair() {
+		deque.addBack(1);
+		return deque.pollFront();
+	}
+}
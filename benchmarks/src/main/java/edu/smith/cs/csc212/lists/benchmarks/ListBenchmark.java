@@ -0,0 +1,191 @@
+package edu.smith.cs.csc212.lists.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.smith.cs.csc212.lists.ChunkyArrayList;
+import edu.smith.cs.csc212.lists.DoublyLinkedList;
+import edu.smith.cs.csc212.lists.FixedSizeList;
+import edu.smith.cs.csc212.lists.GapBufferList;
+import edu.smith.cs.csc212.lists.GrowableList;
+import edu.smith.cs.csc212.lists.IndexedDoublyLinkedList;
+import edu.smith.cs.csc212.lists.SinglyLinkedList;
+import edu.smith.cs.csc212.lists.UnrolledLinkedList;
+import me.jjfoley.adt.ListADT;
+
+/**
+ * Measures every ListADT operation on every list in this project, at sizes
+ * from 10 to 10 million.
+ *
+ * The add benchmarks remove what they added (and the remove benchmarks add
+ * back what they removed) so that the list stays the same size for the whole
+ * run; each number is the cost of that pair. Pick a subset with JMH's usual
+ * flags, e.g.:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ListBenchmark.getIndex -p size=1000,100000
+ * </pre>
+ *
+ * @author jfoley
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBenchmark {
+	/**
+	 * Which list to measure. ChunkyArrayList is written as "ChunkyArrayList:chunkSize"
+	 * (or just "ChunkyArrayList" for adaptive chunks, and UnrolledLinkedList the same way),
+	 * and a linked list with a node pool as "DoublyLinkedList:poolCapacity".
+	 */
+	@Param({ "FixedSizeList", "GrowableList", "GapBufferList", "SinglyLinkedList", "SinglyLinkedList:64",
+			"DoublyLinkedList", "DoublyLinkedList:64", "IndexedDoublyLinkedList", "ChunkyArrayList",
+			"ChunkyArrayList:16", "ChunkyArrayList:256", "ChunkyArrayList:4096", "UnrolledLinkedList:16",
+			"UnrolledLinkedList:256" })
+	public String impl;
+
+	/**
+	 * How many items are in the list while we measure.
+	 */
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	/**
+	 * How many random positions to cycle through; a power of two.
+	 */
+	private static final int POSITIONS = 1024;
+
+	/**
+	 * The list under test.
+	 */
+	private ListADT<Integer> list;
+	/**
+	 * Random positions in [0, size), chosen up front so Random isn't measured.
+	 */
+	private int[] positions;
+	/**
+	 * Which of the positions to use next.
+	 */
+	private int cursor;
+
+	/**
+	 * Make an empty list by name.
+	 * @param impl - the name of the class (and chunk size or pool capacity).
+	 * @param capacity - how many items it will need to hold at most.
+	 * @return a new, empty list.
+	 */
+	static ListADT<Integer> makeList(String impl, int capacity) {
+		String[] parts = impl.split(":");
+		switch (parts[0]) {
+		case "FixedSizeList":
+			return new FixedSizeList<>(capacity);
+		case "GrowableList":
+			return new GrowableList<>();
+		case "GapBufferList":
+			return new GapBufferList<>();
+		case "SinglyLinkedList":
+			return new SinglyLinkedList<>(parts.length > 1 ? Integer.parseInt(parts[1]) : 0);
+		case "DoublyLinkedList":
+			return new DoublyLinkedList<>(parts.length > 1 ? Integer.parseInt(parts[1]) : 0);
+		case "IndexedDoublyLinkedList":
+			return new IndexedDoublyLinkedList<>();
+		case "ChunkyArrayList":
+			if (parts.length == 1) {
+				return new ChunkyArrayList<>();
+			}
+			return new ChunkyArrayList<>(Integer.parseInt(parts[1]));
+		case "UnrolledLinkedList":
+			return new UnrolledLinkedList<>(Integer.parseInt(parts[1]));
+		default:
+			throw new IllegalArgumentException("Unknown list: " + impl);
+		}
+	}
+
+	/**
+	 * Build the list once per trial; building 10M items is not what we measure.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		// one extra slot so that FixedSizeList can add before it removes.
+		list = makeList(impl, size + 1);
+		for (int i = 0; i < size; i++) {
+			list.addBack(i);
+		}
+
+		Random rand = new Random(13);
+		positions = new int[POSITIONS];
+		for (int i = 0; i < POSITIONS; i++) {
+			positions[i] = rand.nextInt(size);
+		}
+		cursor = 0;
+	}
+
+	/**
+	 * @return the next random position in the list.
+	 */
+	private int nextPosition() {
+		return positions[cursor++ & (POSITIONS - 1)];
+	}
+
+	@Benchmark
+	public Integer addFront() {
+		list.addFront(-1);
+		return list.removeFront();
+	}
+
+	@Benchmark
+	public Integer addBack() {
+		list.addBack(-1);
+		return list.removeBack();
+	}
+
+	@Benchmark
+	public Integer addIndex() {
+		int where = nextPosition();
+		list.addIndex(where, -1);
+		return list.removeIndex(where);
+	}
+
+	@Benchmark
+	public Integer removeIndex() {
+		int where = nextPosition();
+		Integer removed = list.removeIndex(where);
+		list.addIndex(where, removed);
+		return removed;
+	}
+
+	@Benchmark
+	public Integer getIndex() {
+		return list.getIndex(nextPosition());
+	}
+
+	@Benchmark
+	public void setIndex() {
+		int where = nextPosition();
+		list.setIndex(where, where);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole bh) {
+		for (Integer item : list) {
+			bh.consume(item);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package edu.smith.cs.csc212.lists.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.lists.MpscRingQueue;
+import edu.smith.cs.csc212.lists.RingQueue;
+import edu.smith.cs.csc212.lists.SpscRingQueue;
+
+/**
+ * Measures handing items from producer threads to one consumer thread
+ * through a {@linkplain RingQueue}, one at a time and in batches.
+ *
+ * Each group has one producer and one consumer; an SpscRingQueue must only
+ * ever have one producer, but an MpscRingQueue can be tried with more, e.g.:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar RingQueueBenchmark.single -p impl=MpscRingQueue -tg 4,1
+ * </pre>
+ *
+ * @author jfoley
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class RingQueueBenchmark {
+	/**
+	 * Which queue to measure.
+	 */
+	@Param({ "SpscRingQueue", "MpscRingQueue" })
+	public String impl;
+
+	/**
+	 * How many items fit in the queue.
+	 */
+	@Param({ "1024" })
+	public int capacity;
+
+	/**
+	 * How many items offerAll and drainTo move at once.
+	 */
+	private static final int BATCH = 32;
+
+	/**
+	 * The queue under test.
+	 */
+	private RingQueue<Integer> queue;
+
+	/**
+	 * What the producers offer in a batch.
+	 */
+	private List<Integer> batch;
+
+	/**
+	 * Build the queue before each trial.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		switch (impl) {
+		case "SpscRingQueue":
+			queue = new SpscRingQueue<>(capacity);
+			break;
+		case "MpscRingQueue":
+			queue = new MpscRingQueue<>(capacity);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown queue: " + impl);
+		}
+		batch = Collections.nCopies(BATCH, 1);
+	}
+
+	/**
+	 * The consumer's own place to drain into.
+	 */
+	@State(Scope.Thread)
+	public static class Sink {
+		/**
+		 * Emptied after every drain.
+		 */
+		public final List<Integer> items = new ArrayList<>(BATCH);
+	}
+
+	@Benchmark
+	@Group("single")
+	@GroupThreads(1)
+	public boolean singleOffer() {
+		return queue.offer(1);
+	}
+
+	@Benchmark
+	@Group("single")
+	@GroupThreads(1)
+	public Integer singlePoll() {
+		return queue.poll();
+	}
+
+	@Benchmark
+	@Group("batch")
+	@GroupThreads(1)
+	public int batchOfferAll() {
+		return queue.offerAll(batch);
+	}
+
+	@Benchmark
+	@Group("batch")
+	@GroupThreads(1)
+	public int batchDrainTo(Sink sink) {
+		int count = queue.drainTo(sink.items, BATCH);
+		sink.items.clear();
+		return count;
+	}
+}
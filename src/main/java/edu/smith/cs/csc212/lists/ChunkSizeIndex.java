@@ -0,0 +1,148 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A Fenwick tree (binary indexed tree) over the sizes of the chunks in a
+ * {@linkplain ChunkyArrayList}. It lets us find which chunk holds a given
+ * position in O(log chunks) instead of walking every chunk from the front.
+ *
+ * Changing the size of one chunk is O(log chunks), and so is adding or
+ * removing a chunk at the back. Adding or removing a chunk anywhere else
+ * shifts every chunk after it, so the tree is rebuilt in O(chunks) -- which
+ * is what the chunk list itself already pays for that shift.
+ *
+ * @author jfoley
+ *
+ */
+class ChunkSizeIndex {
+	/**
+	 * How many chunks should we have room for initially?
+	 */
+	private static final int START_SIZE = 8;
+	/**
+	 * The tree itself; tree[i] holds the total size of chunks (i - lowbit(i), i].
+	 * Slot zero is unused so that the usual 1-based arithmetic works.
+	 */
+	private int[] tree;
+	/**
+	 * How many chunks are we tracking?
+	 */
+	private int count;
+
+	/**
+	 * Construct an index over zero chunks.
+	 */
+	public ChunkSizeIndex() {
+		this.tree = new int[START_SIZE + 1];
+		this.count = 0;
+	}
+
+	/**
+	 * @return how many chunks are in this index.
+	 */
+	public int count() {
+		return this.count;
+	}
+
+	/**
+	 * Change the size of a single chunk.
+	 * @param chunk - the position of the chunk (from zero).
+	 * @param delta - how much its size changed by.
+	 */
+	public void add(int chunk, int delta) {
+		for (int i = chunk + 1; i <= this.count; i += (i & -i)) {
+			this.tree[i] += delta;
+		}
+	}
+
+	/**
+	 * How many items are stored before a given chunk?
+	 * @param chunk - the position of the chunk (from zero).
+	 * @return the total size of chunks [0, chunk).
+	 */
+	public int prefix(int chunk) {
+		int total = 0;
+		for (int i = chunk; i > 0; i -= (i & -i)) {
+			total += this.tree[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Find the chunk that holds a given position in the list.
+	 * @param index - a position in [0, total size).
+	 * @return the position of the chunk that holds that item.
+	 */
+	public int findChunk(int index) {
+		int pos = 0;
+		int remaining = index;
+		for (int step = Integer.highestOneBit(this.count); step > 0; step >>= 1) {
+			int next = pos + step;
+			if (next <= this.count && this.tree[next] <= remaining) {
+				pos = next;
+				remaining -= this.tree[next];
+			}
+		}
+		return pos;
+	}
+
+	/**
+	 * Add a new chunk to the back of the index in O(log chunks).
+	 * @param size - how many items are in that chunk.
+	 */
+	public void append(int size) {
+		if (this.count + 1 >= this.tree.length) {
+			int[] bigger = new int[this.tree.length * 2];
+			System.arraycopy(this.tree, 0, bigger, 0, this.tree.length);
+			this.tree = bigger;
+		}
+		int i = ++this.count;
+		// tree[i] covers (i - lowbit(i), i], so sum up what's already there.
+		this.tree[i] = size + prefix(i - 1) - prefix(i - (i & -i));
+	}
+
+	/**
+	 * Remove the last chunk from the index. Entries before it are unaffected.
+	 */
+	public void removeLast() {
+		this.tree[this.count--] = 0;
+	}
+
+	/**
+	 * Recompute the whole index from the chunks, in O(chunks).
+	 * @param chunks - the chunks of a ChunkyArrayList.
+	 */
+	public void rebuild(ListADT<? extends ListADT<?>> chunks) {
+		rebuild(chunks, ListADT::size);
+	}
+
+	/**
+	 * Recompute the whole index from chunks that aren't ListADTs themselves.
+	 * @param chunks - the chunks, in order.
+	 * @param sizeOf - how to find out how many items a chunk holds.
+	 * @param <C> - the type of the chunks.
+	 */
+	public <C> void rebuild(ListADT<C> chunks, ToIntFunction<? super C> sizeOf) {
+		int n = chunks.size();
+		if (n + 1 > this.tree.length) {
+			this.tree = new int[Math.max(n + 1, this.tree.length * 2)];
+		} else {
+			Arrays.fill(this.tree, 0);
+		}
+		int i = 1;
+		for (C chunk : chunks) {
+			this.tree[i++] = sizeOf.applyAsInt(chunk);
+		}
+		for (i = 1; i <= n; i++) {
+			int parent = i + (i & -i);
+			if (parent <= n) {
+				this.tree[parent] += this.tree[i];
+			}
+		}
+		this.count = n;
+	}
+}
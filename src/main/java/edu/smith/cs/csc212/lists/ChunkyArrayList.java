@@ -1,261 +1,696 @@
 package edu.smith.cs.csc212.lists;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import me.jjfoley.adt.ListADT;
 import me.jjfoley.adt.errors.BadIndexError;
-import me.jjfoley.adt.errors.EmptyListError;
-import me.jjfoley.adt.errors.TODOErr;
 
 /**
  * This is a data structure that has an array inside each node of an ArrayList.
  * Therefore, we only make new nodes when they are full. Some remove operations
  * may be easier if you allow "chunks" to be partially filled.
  * 
+ * A full chunk that needs room is split in half. With a minFill, chunks that
+ * get too empty borrow from or merge with a neighbor; {@linkplain #compact()}
+ * repacks everything into full chunks.
+ * 
  * @author jfoley
  * @param <T> - the type of item stored in the list.
  */
 public class ChunkyArrayList<T> extends ListADT<T> {
 	/**
-	 * How big is each chunk?
+	 * In adaptive mode, chunks are never smaller than this.
+	 */
+	static final int MIN_ADAPTIVE_CHUNK = 16;
+	/**
+	 * In adaptive mode, chunks are never bigger than this.
+	 */
+	static final int MAX_ADAPTIVE_CHUNK = 1 << 16;
+	/**
+	 * How big is each new chunk? In adaptive mode this changes, so older
+	 * chunks may be a different size until they are re-chunked.
 	 */
 	private int chunkSize;
+	/**
+	 * Does chunkSize follow the square root of the size of the list?
+	 */
+	private final boolean adaptive;
+	/**
+	 * The next chunk to check for the wrong size, or -1 if re-chunking is done.
+	 */
+	private int rechunkCursor;
+	/**
+	 * A chunk with fewer items than this (other than an only chunk) borrows
+	 * from or merges with a neighbor after a remove. Zero only drops empty chunks.
+	 */
+	private int minFill;
 	/**
 	 * Where do the chunks go?
 	 */
 	private GrowableList<FixedSizeList<T>> chunks;
+	/**
+	 * How many items are in the chunks, so that we don't have to add them up.
+	 */
+	private int fill;
+	/**
+	 * Where does each position live? This is kept in sync with chunks.
+	 */
+	private ChunkSizeIndex sizeIndex;
 
+	/**
+	 * Create a ChunkedArrayList that picks its own chunk-size: about the square
+	 * root of the size of the list, rounded to a power of two. As the list
+	 * grows (or shrinks) the chunk-size changes, and the old chunks are
+	 * re-chunked a little at a time, one step per add or remove.
+	 */
+	public ChunkyArrayList() {
+		this(MIN_ADAPTIVE_CHUNK, MIN_ADAPTIVE_CHUNK / 4, true);
+	}
+	
 	/**
 	 * Create a ChunkedArrayList with a specific chunk-size.
 	 * @param chunkSize - how many items to store per node in this list.
 	 */
 	public ChunkyArrayList(int chunkSize) {
+		this(chunkSize, 0);
+	}
+	
+	/**
+	 * Create a ChunkedArrayList that keeps its chunks from getting too empty.
+	 * @param chunkSize - how many items to store per node in this list.
+	 * @param minFill - the fewest items a chunk should have after a remove; at most chunkSize/2.
+	 */
+	public ChunkyArrayList(int chunkSize, int minFill) {
+		this(chunkSize, minFill, false);
+	}
+	
+	/**
+	 * All of the constructors end up here.
+	 * @param chunkSize - how many items to store per node in this list.
+	 * @param minFill - the fewest items a chunk should have after a remove.
+	 * @param adaptive - whether chunkSize should change with the size of the list.
+	 */
+	private ChunkyArrayList(int chunkSize, int minFill, boolean adaptive) {
+		if (minFill < 0 || minFill > chunkSize / 2) {
+			throw new IllegalArgumentException("minFill must be in [0, chunkSize/2]: " + minFill);
+		}
 		this.chunkSize = chunkSize;
+		this.minFill = minFill;
+		this.adaptive = adaptive;
+		this.rechunkCursor = -1;
 		chunks = new GrowableList<>();
+		sizeIndex = new ChunkSizeIndex();
+		fill = 0;
 	}
 	
 	private FixedSizeList<T> makeChunk() {
 		return new FixedSizeList<>(chunkSize);
 	}
+	
+	/**
+	 * Move a run of items from one chunk to another.
+	 * @param from - the chunk to take them out of.
+	 * @param fromIndex - the position of the first one in from.
+	 * @param length - how many items to move.
+	 * @param to - the chunk to put them in; it must have room.
+	 * @param toIndex - where they go in to.
+	 */
+	private static <T> void moveItems(FixedSizeList<T> from, int fromIndex, int length, FixedSizeList<T> to, int toIndex) {
+		Object[] moving = new Object[length];
+		from.copyTo(fromIndex, moving, 0, length);
+		from.removeRange(fromIndex, fromIndex + length);
+		to.addAll(toIndex, moving, 0, length);
+	}
+	
+	/**
+	 * After a remove, fix up a chunk that has fewer than minFill items: merge
+	 * it with its neighbor if they fit in one chunk, otherwise borrow enough
+	 * items from the neighbor to even them out. Empty chunks are just dropped.
+	 * @param i - which chunk.
+	 */
+	private void rebalance(int i) {
+		FixedSizeList<T> chunk = chunks.getIndex(i);
+		if (chunk.isEmpty()) {
+			// Don't let there be any empty chunks in the middle.
+			removeChunk(i);
+			return;
+		}
+		if (chunk.size() >= minFill || chunks.size() == 1) {
+			return;
+		}
+		// use the next chunk if there is one, so the pair is (lo, hi).
+		int lo = (i + 1 < chunks.size()) ? i : i - 1;
+		FixedSizeList<T> first = chunks.getIndex(lo);
+		FixedSizeList<T> second = chunks.getIndex(lo + 1);
+		if (first.size() + second.size() <= first.capacity()) {
+			int moved = second.size();
+			moveItems(second, 0, moved, first, first.size());
+			sizeIndex.add(lo, moved);
+			sizeIndex.add(lo + 1, -moved);
+			removeChunk(lo + 1);
+		} else if (first == chunk) {
+			int moved = Math.min((second.size() - first.size()) / 2, first.capacity() - first.size());
+			if (moved > 0) {
+				moveItems(second, 0, moved, first, first.size());
+				sizeIndex.add(lo, moved);
+				sizeIndex.add(lo + 1, -moved);
+			}
+		} else {
+			int moved = Math.min((first.size() - second.size()) / 2, second.capacity() - second.size());
+			if (moved > 0) {
+				moveItems(first, first.size() - moved, moved, second, 0);
+				sizeIndex.add(lo, -moved);
+				sizeIndex.add(lo + 1, moved);
+			}
+		}
+	}
+	
+	/**
+	 * Repack every item into full chunks (the last one may be partly full),
+	 * to give back the space that lots of adds and removes leave behind.
+	 * @return how full the chunks were before and after.
+	 */
+	public CompactionReport compact() {
+		int chunksBefore = chunks.size();
+		double fillFactorBefore = fillFactor();
+		
+		GrowableList<FixedSizeList<T>> packed = new GrowableList<>();
+		ChunkSizeIndex packedIndex = new ChunkSizeIndex();
+		Object[] moving = new Object[chunkSize];
+		FixedSizeList<T> current = null;
+		for (FixedSizeList<T> chunk : chunks) {
+			int length = chunk.size();
+			if (length > moving.length) {
+				moving = new Object[length];
+			}
+			chunk.copyTo(0, moving, 0, length);
+			int done = 0;
+			while (done < length) {
+				if (current == null || current.isFull()) {
+					current = makeChunk();
+					packed.addBack(current);
+				}
+				int n = Math.min(length - done, current.capacity() - current.size());
+				current.addAll(current.size(), moving, done, n);
+				done += n;
+			}
+		}
+		for (FixedSizeList<T> chunk : packed) {
+			packedIndex.append(chunk.size());
+		}
+		this.chunks = packed;
+		this.sizeIndex = packedIndex;
+		this.rechunkCursor = -1;
+		return new CompactionReport(chunksBefore, fillFactorBefore, chunks.size(), fillFactor());
+	}
+	
+	/**
+	 * In adaptive mode, check whether the chunk-size should change with the
+	 * size of the list, and do one step of re-chunking. The chunk-size is the
+	 * power of two nearest the square root of the size; it doubles when the
+	 * size passes four times its square and halves when the size drops below
+	 * a quarter of its square, so that it doesn't flip back and forth.
+	 */
+	private void adapt() {
+		if (!adaptive) {
+			return;
+		}
+		int target = targetChunkSize(fill);
+		if (target != chunkSize) {
+			chunkSize = target;
+			minFill = target / 4;
+			rechunkCursor = 0;
+		}
+		if (rechunkCursor >= 0) {
+			rechunkStep();
+		}
+	}
+	
+	/**
+	 * In adaptive mode, what should the chunk-size be at a given size?
+	 * @param size - how many items the list has.
+	 * @return chunkSize, doubled or halved as many times as it takes.
+	 */
+	private int targetChunkSize(int size) {
+		int target = chunkSize;
+		while (target < MAX_ADAPTIVE_CHUNK && size >= 4L * target * target) {
+			target *= 2;
+		}
+		while (target > MIN_ADAPTIVE_CHUNK && size < (long) target * target / 4) {
+			target /= 2;
+		}
+		return target;
+	}
+	
+	/**
+	 * Would adapt() leave the chunks alone at a given size?
+	 * @param size - how many items the list will have.
+	 * @return true if it wouldn't change the chunk-size or re-chunk anything.
+	 */
+	private boolean isSteady(int size) {
+		return !adaptive || (rechunkCursor < 0 && targetChunkSize(size) == chunkSize);
+	}
+	
+	/**
+	 * Would addBack only touch the back chunk: no new chunk, and nothing for
+	 * adapt() to do? Used by {@linkplain ConcurrentChunkyArrayList}, which
+	 * does those adds without locking the whole list.
+	 * @return true if the back chunk has room and nothing else would change.
+	 */
+	boolean canAddBackInPlace() {
+		return !chunks.isEmpty() && !chunks.getBack().isFull() && isSteady(fill + 1);
+	}
+	
+	/**
+	 * Would removeBack only touch the back chunk: nothing for rebalance() or
+	 * adapt() to do? Used by {@linkplain ConcurrentChunkyArrayList}, like
+	 * {@linkplain #canAddBackInPlace()}.
+	 * @return true if the back chunk keeps enough items and nothing else would change.
+	 */
+	boolean canRemoveBackInPlace() {
+		if (chunks.isEmpty()) {
+			return false;
+		}
+		int left = chunks.getBack().size() - 1;
+		return left > 0 && (left >= minFill || chunks.size() == 1) && isSteady(fill - 1);
+	}
+	
+	/**
+	 * Replace the next run of wrong-sized chunks with chunks of chunkSize.
+	 * Each step copies about one new chunk's worth of items (or one old
+	 * chunk's, if they were bigger), so re-chunking is spread out over many
+	 * adds and removes instead of stopping the list all at once.
+	 */
+	private void rechunkStep() {
+		while (rechunkCursor < chunks.size() && chunks.getIndex(rechunkCursor).capacity() == chunkSize) {
+			rechunkCursor++;
+		}
+		if (rechunkCursor >= chunks.size()) {
+			rechunkCursor = -1;
+			return;
+		}
+		
+		int from = rechunkCursor;
+		int count = chunks.getIndex(from).size();
+		int limit = Math.max(chunkSize, count);
+		int to = from + 1;
+		while (to < chunks.size() && chunks.getIndex(to).capacity() != chunkSize
+				&& count + chunks.getIndex(to).size() <= limit) {
+			count += chunks.getIndex(to).size();
+			to++;
+		}
+		
+		Object[] moving = new Object[count];
+		int done = 0;
+		for (int k = from; k < to; k++) {
+			FixedSizeList<T> chunk = chunks.getIndex(k);
+			chunk.copyTo(0, moving, done, chunk.size());
+			done += chunk.size();
+		}
+		List<FixedSizeList<T>> replacement = new ArrayList<>();
+		for (done = 0; done < count; done += chunkSize) {
+			FixedSizeList<T> chunk = makeChunk();
+			chunk.addAll(0, moving, done, Math.min(chunkSize, count - done));
+			replacement.add(chunk);
+		}
+		chunks.removeRange(from, to);
+		chunks.addAllAt(from, replacement);
+		sizeIndex.rebuild(chunks);
+		rechunkCursor = from + replacement.size();
+	}
+	
+	/**
+	 * This is not private for use in tests.
+	 * @return how many items fit in a new chunk.
+	 */
+	int chunkSize() {
+		return chunkSize;
+	}
+	
+	/**
+	 * @return how much of the space in the chunks is used, from 0 to 1; 1 if
+	 *         there are no chunks, since nothing is wasted.
+	 */
+	public double fillFactor() {
+		if (chunks.isEmpty()) {
+			return 1.0;
+		}
+		long space = 0;
+		for (FixedSizeList<T> chunk : chunks) {
+			space += chunk.capacity();
+		}
+		return (double) fill / space;
+	}
+	
+	/**
+	 * This is not private for use in tests.
+	 * @return how many chunks there are.
+	 */
+	int chunkCount() {
+		return chunks.size();
+	}
+	
+	/**
+	 * Which chunk holds a position? Used by {@linkplain ConcurrentChunkyArrayList}
+	 * to pick a lock; the caller checks the index.
+	 * @param index - a position in [0, size).
+	 * @return the number of the chunk it is in.
+	 */
+	int chunkIndexOf(int index) {
+		return sizeIndex.findChunk(index);
+	}
+	
+	/**
+	 * Put a new chunk into the list of chunks and keep the index in sync.
+	 * @param position - where the chunk should go.
+	 * @param chunk - the new chunk (which may already have items in it).
+	 */
+	private void insertChunk(int position, FixedSizeList<T> chunk) {
+		if (position == chunks.size()) {
+			chunks.addBack(chunk);
+			sizeIndex.append(chunk.size());
+		} else {
+			chunks.addIndex(position, chunk);
+			sizeIndex.rebuild(chunks);
+		}
+	}
+	
+	/**
+	 * Take a chunk out of the list of chunks and keep the index in sync.
+	 * @param position - which chunk to remove.
+	 */
+	private void removeChunk(int position) {
+		if (position == chunks.size() - 1) {
+			chunks.removeBack();
+			sizeIndex.removeLast();
+		} else {
+			chunks.removeIndex(position);
+			sizeIndex.rebuild(chunks);
+		}
+	}
 
 	@Override
 	public T removeFront() {
 		checkNotEmpty();
-		T removedValue = null;
 		FixedSizeList<T> front = chunks.getFront();
-		removedValue = front.removeFront();
-		if (front.isEmpty()) {
-			chunks.removeFront();
-		}
+		T removedValue = front.removeFront();
+		sizeIndex.add(0, -1);
+		fill--;
+		rebalance(0);
+		adapt();
 		return removedValue;
 	}
 
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
-		T removedValue = null;
 		FixedSizeList<T> back = chunks.getBack();
-		removedValue = back.removeBack();
-		if (back.isEmpty()) {
-			chunks.removeBack();
-		}
+		T removedValue = back.removeBack();
+		sizeIndex.add(chunks.size() - 1, -1);
+		fill--;
+		rebalance(chunks.size() - 1);
+		adapt();
 		return removedValue;
 	}
 
 	@Override
 	public T removeIndex(int index) {
 		checkNotEmpty();
-		int listSize = size();
-		if (index >= listSize || index < 0) {
-			throw new BadIndexError(index);
-		} else if (index == 0) {
-			return removeFront();
-		} else if (index == listSize-1) {
-			return removeBack();
-		}
+		checkExclusiveIndex(index);
 		
-		T removedValue = null;
-		int counter = 0;
-		boolean found = false;
-		for (int i = 0; i < chunks.size(); i++) {
-			FixedSizeList<T> currentSubList = chunks.getIndex(i);
-			if (counter + this.chunkSize < index) {
-				counter = counter + this.chunkSize;
-				continue;
-			}
-			for (int y = 0; y < currentSubList.size(); y++) {
-				if (counter == index) {
-					removedValue = currentSubList.removeIndex(y);
-					found = true;
-					break;
-				}
-				counter++;
-			}
-			if (found) {
-				if (currentSubList.isEmpty()) {
-					chunks.removeIndex(i);
-				}
-				break;
-			}
-		}
+		int i = sizeIndex.findChunk(index);
+		FixedSizeList<T> chunk = chunks.getIndex(i);
+		T removedValue = chunk.removeIndex(index - sizeIndex.prefix(i));
+		sizeIndex.add(i, -1);
+		fill--;
+		rebalance(i);
+		adapt();
 		return removedValue;
 	}
 
 	@Override
 	public void addFront(T item) {
-		if (chunks.isEmpty()) {
-			chunks.addFront(makeChunk());
+		if (chunks.isEmpty() || chunks.getFront().isFull()) {
+			insertChunk(0, makeChunk());
 		}
-		
-		FixedSizeList<T> front = chunks.getFront();
-		if (front.isFull()) {
-			front = makeChunk();
-			chunks.addFront(front);
-		}
-		front.addFront(item);
+		chunks.getFront().addFront(item);
+		sizeIndex.add(0, 1);
+		fill++;
+		adapt();
 	}
 
 	@Override
 	public void addBack(T item) {
-		if (chunks.isEmpty()) {
-			chunks.addBack(makeChunk());
-		}
-		
-		FixedSizeList<T> back = chunks.getBack();
-		if (back.isFull()) {
-			back = makeChunk();
-			chunks.addBack(back);
+		if (chunks.isEmpty() || chunks.getBack().isFull()) {
+			insertChunk(chunks.size(), makeChunk());
 		}
-		back.addBack(item);
+		chunks.getBack().addBack(item);
+		sizeIndex.add(chunks.size() - 1, 1);
+		fill++;
+		adapt();
 	}
 
 	@Override
 	public void addIndex(int index, T item) {
-		checkNotEmpty();
-		int listSize = size();
-		if (index > listSize || index < 0) {
-			throw new BadIndexError(index);
-		} else if (isEmpty()) {
-			addFront(item);
-			return;
-		} else if (index == listSize) {
+		checkInclusiveIndex(index);
+		if (index == fill) {
 			addBack(item);
 			return;
 		}
 
-		int counter = 0;
-		boolean found = false;
-		for (int i = 0; i < chunks.size(); i++) {
-			FixedSizeList<T> currentSubList = chunks.getIndex(i);
-			if (counter + currentSubList.size() < index) {
-				counter = counter + currentSubList.size();
-				continue;
-			}
-			for (int y = 0; y < this.chunkSize; y++) {
-				if (counter == index) {
-					if (y < currentSubList.size()) {
-						if (currentSubList.isFull()) {
-							if (chunks.size() <= i+1 || chunks.getIndex(i+1).size() == this.chunkSize) {
-								FixedSizeList<T> newSubList = makeChunk();
-								chunks.addIndex(i+1, newSubList);
-							}
-							if (chunks.size() > i+1 && currentSubList.size() == this.chunkSize && chunks.getIndex(i+1).size() < this.chunkSize) {
-								chunks.getIndex(i+1).addFront(currentSubList.removeBack());
-								currentSubList.addIndex(y, item);
-							} else {
-								FixedSizeList<T> newSubList = makeChunk();
-								newSubList.addFront(item);
-								chunks.addIndex(i+1, newSubList);
-							}
-						} else {
-							currentSubList.addIndex(y, item);
-						}
-					} else {
-						currentSubList.addBack(item);
-					}
-					found = true;
-					break;
-					
-				}
-				counter++;
-			}
-			if (found) {
-				break;
+		int i = sizeIndex.findChunk(index);
+		FixedSizeList<T> chunk = chunks.getIndex(i);
+		int offset = index - sizeIndex.prefix(i);
+		if (!chunk.isFull()) {
+			chunk.addIndex(offset, item);
+			sizeIndex.add(i, 1);
+		} else if (i + 1 < chunks.size() && !chunks.getIndex(i + 1).isFull()) {
+			// push our last item over to the next chunk to make room.
+			chunks.getIndex(i + 1).addFront(chunk.removeBack());
+			sizeIndex.add(i + 1, 1);
+			chunk.addIndex(offset, item);
+		} else {
+			// the neighbor is full too, so split this chunk in half. While
+			// re-chunking, this chunk may not hold chunkSize items, and half of
+			// it might not fit in a new chunk, so the new half is the same size
+			// as this one; rechunkStep gets to them both later.
+			FixedSizeList<T> half = new FixedSizeList<>(chunk.capacity());
+			int keep = chunk.capacity() / 2;
+			moveItems(chunk, keep, chunk.size() - keep, half, 0);
+			if (offset > keep) {
+				half.addIndex(offset - keep, item);
+			} else {
+				chunk.addIndex(offset, item);
 			}
+			// chunk was full before the split.
+			sizeIndex.add(i, chunk.size() - chunk.capacity());
+			insertChunk(i + 1, half);
+		}
+		fill++;
+		adapt();
+	}
+	
+	/**
+	 * Add many items to the back at once. The back chunk is topped up, and
+	 * the rest are copied straight into new, full chunks.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		Object[] values = items.toArray();
+		int done = 0;
+		if (!chunks.isEmpty() && !chunks.getBack().isFull()) {
+			FixedSizeList<T> back = chunks.getBack();
+			done = Math.min(values.length, back.capacity() - back.size());
+			back.addAll(back.size(), values, 0, done);
+			sizeIndex.add(chunks.size() - 1, done);
 		}
+		while (done < values.length) {
+			int length = Math.min(chunkSize, values.length - done);
+			FixedSizeList<T> chunk = makeChunk();
+			chunk.addAll(0, values, done, length);
+			insertChunk(chunks.size(), chunk);
+			done += length;
+		}
+		fill += values.length;
+		adapt();
 	}
 	
+	/**
+	 * Add many items in the middle at once. If they fit in the chunk at index
+	 * they just go there; otherwise the end of that chunk is cut off, and it
+	 * goes after the new items in new, full chunks, which are all put in the
+	 * list of chunks at once.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		checkInclusiveIndex(index);
+		if (index == fill) {
+			addAllBack(items);
+			return;
+		}
+		Object[] values = items.toArray();
+		if (values.length == 0) {
+			return;
+		}
+		
+		int i = sizeIndex.findChunk(index);
+		FixedSizeList<T> chunk = chunks.getIndex(i);
+		int offset = index - sizeIndex.prefix(i);
+		int room = chunk.capacity() - chunk.size();
+		if (values.length <= room) {
+			chunk.addAll(offset, values, 0, values.length);
+			sizeIndex.add(i, values.length);
+			fill += values.length;
+			adapt();
+			return;
+		}
+		
+		// rest is the new items that don't fit here, then the old end of this chunk.
+		int tail = chunk.size() - offset;
+		int fits = Math.min(values.length, room + tail);
+		Object[] rest = new Object[values.length - fits + tail];
+		System.arraycopy(values, fits, rest, 0, values.length - fits);
+		chunk.copyTo(offset, rest, values.length - fits, tail);
+		chunk.removeRange(offset, chunk.size());
+		chunk.addAll(offset, values, 0, fits);
+		
+		List<FixedSizeList<T>> added = new ArrayList<>();
+		for (int done = 0; done < rest.length; done += chunkSize) {
+			FixedSizeList<T> next = makeChunk();
+			next.addAll(0, rest, done, Math.min(chunkSize, rest.length - done));
+			added.add(next);
+		}
+		chunks.addAllAt(i + 1, added);
+		sizeIndex.rebuild(chunks);
+		fill += values.length;
+		adapt();
+	}
+	
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once. Only the chunks at
+	 * either end of the range need to slide; the ones in between are dropped
+	 * whole.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		checkInclusiveIndex(fromIndex);
+		checkInclusiveIndex(toIndex);
+		if (fromIndex > toIndex) {
+			throw new BadIndexError(fromIndex);
+		}
+		if (fromIndex == toIndex) {
+			return;
+		}
+		
+		int i = sizeIndex.findChunk(fromIndex);
+		int j = sizeIndex.findChunk(toIndex - 1);
+		FixedSizeList<T> first = chunks.getIndex(i);
+		FixedSizeList<T> last = chunks.getIndex(j);
+		fill -= toIndex - fromIndex;
+		if (i == j) {
+			int offset = sizeIndex.prefix(i);
+			first.removeRange(fromIndex - offset, toIndex - offset);
+			sizeIndex.add(i, fromIndex - toIndex);
+			rebalance(i);
+		} else {
+			first.removeRange(fromIndex - sizeIndex.prefix(i), first.size());
+			last.removeRange(0, toIndex - sizeIndex.prefix(j));
+			// Don't let there be any empty chunks in the middle.
+			int dropFrom = first.isEmpty() ? i : i + 1;
+			int dropTo = last.isEmpty() ? j + 1 : j;
+			chunks.removeRange(dropFrom, dropTo);
+			sizeIndex.rebuild(chunks);
+			// the chunks that are left at either end of the range may be too empty now.
+			int left = (first.isEmpty() ? 0 : 1) + (last.isEmpty() ? 0 : 1);
+			for (int k = i + left - 1; k >= i; k--) {
+				rebalance(k);
+			}
+		}
+		adapt();
+	}
+
 	@Override
 	public T getFront() {
+		checkNotEmpty();
 		return this.chunks.getFront().getFront();
 	}
 
 	@Override
 	public T getBack() {
+		checkNotEmpty();
 		return this.chunks.getBack().getBack();
 	}
 
 
 	@Override
 	public T getIndex(int index) {
-		if (this.isEmpty()) {
-			throw new EmptyListError();
-		}
-		int start = 0;
-		for (FixedSizeList<T> chunk : this.chunks) {
-			// calculate bounds of this chunk.
-			int end = start + chunk.size();
-			
-			// Check whether the index should be in this chunk:
-			if (start <= index && index < end) {
-				return chunk.getIndex(index - start);
-			}
-			
-			// update bounds of next chunk.
-			start = end;
-		}
-		throw new BadIndexError(index);
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		return chunks.getIndex(i).getIndex(index - sizeIndex.prefix(i));
 	}
 	
 	@Override
 	public void setIndex(int index, T value) {
 		checkNotEmpty();
-		int listSize = size();
-		if (index >= listSize || index < 0) {
-			throw new BadIndexError(index);
-		}
-		
-		int counter = 0;
-		boolean found = false;
-		for (int i = 0; i < chunks.size(); i++) {
-			FixedSizeList<T> currentSubList = chunks.getIndex(i);
-			if (counter + this.chunkSize < index) {
-				counter = counter + this.chunkSize;
-				continue;
-			}
-			for (int y = 0; y < currentSubList.size(); y++) {
-				if (counter == index) {
-					currentSubList.setIndex(y, value);
-					found = true;
-					break;
-				}
-				counter++;
-			}
-			if (found) {
-				break;
-			}
-		}
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		chunks.getIndex(i).setIndex(index - sizeIndex.prefix(i), value);
 	}
 
 	@Override
 	public int size() {
-		int total = 0;
-		for (FixedSizeList<T> chunk : this.chunks) {
-			total += chunk.size();
-		}
-		return total;
+		return this.fill;
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return this.chunks.isEmpty();
+		return this.fill == 0;
+	}
+	
+	/**
+	 * What {@linkplain ChunkyArrayList#compact()} did.
+	 */
+	public static class CompactionReport {
+		/**
+		 * How many chunks there were before.
+		 */
+		public final int chunksBefore;
+		/**
+		 * How much of the chunk space was used before, from 0 to 1.
+		 */
+		public final double fillFactorBefore;
+		/**
+		 * How many chunks there are now.
+		 */
+		public final int chunksAfter;
+		/**
+		 * How much of the chunk space is used now, from 0 to 1.
+		 */
+		public final double fillFactorAfter;
+		
+		/**
+		 * Record what a compaction did.
+		 * @param chunksBefore - how many chunks there were before.
+		 * @param fillFactorBefore - how full they were.
+		 * @param chunksAfter - how many chunks there are now.
+		 * @param fillFactorAfter - how full they are.
+		 */
+		CompactionReport(int chunksBefore, double fillFactorBefore, int chunksAfter, double fillFactorAfter) {
+			this.chunksBefore = chunksBefore;
+			this.fillFactorBefore = fillFactorBefore;
+			this.chunksAfter = chunksAfter;
+			this.fillFactorAfter = fillFactorAfter;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("%d chunks (%.1f%% full) -> %d chunks (%.1f%% full)", chunksBefore,
+					100 * fillFactorBefore, chunksAfter, 100 * fillFactorAfter);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+
+/**
+ * Bulk-copy helpers for the circular buffers inside {@linkplain GrowableList}
+ * and {@linkplain FixedSizeList}. A circular buffer is an array plus the slot
+ * where position zero of the list lives; positions past the end of the array
+ * wrap back around to the beginning.
+ *
+ * Everything here is done with {@linkplain System#arraycopy}, at most a few
+ * calls per operation (one for each piece that doesn't wrap), so these work on
+ * any kind of array: Object[], int[], long[], and so on.
+ *
+ * @author jfoley
+ *
+ */
+final class CircularArrays {
+	/**
+	 * This class only has static methods.
+	 */
+	private CircularArrays() {
+	}
+
+	/**
+	 * Find the slot of the array for a position in the list.
+	 * @param where - start + position; may be negative or past the end.
+	 * @param capacity - how big the array is.
+	 * @return a slot in [0, capacity).
+	 */
+	static int wrap(int where, int capacity) {
+		int slot = where % capacity;
+		return slot < 0 ? slot + capacity : slot;
+	}
+
+	/**
+	 * Slide a run of items toward the front or the back of the list.
+	 * The places they land must be free (or part of the run itself).
+	 *
+	 * @param ring - the array.
+	 * @param capacity - how big the array is.
+	 * @param start - the slot holding position zero.
+	 * @param from - the position of the first item to move.
+	 * @param length - how many items to move.
+	 * @param distance - how far to move them; negative is toward the front.
+	 */
+	static void slide(Object ring, int capacity, int start, int from, int length, int distance) {
+		if (length == 0 || distance == 0) {
+			return;
+		}
+		if (distance < 0) {
+			// moving toward the front: copy the front pieces first.
+			int done = 0;
+			while (done < length) {
+				int src = wrap(start + from + done, capacity);
+				int dst = wrap(start + from + done + distance, capacity);
+				int n = Math.min(length - done, Math.min(capacity - src, capacity - dst));
+				System.arraycopy(ring, src, ring, dst, n);
+				done += n;
+			}
+		} else {
+			// moving toward the back: copy the back pieces first.
+			int remaining = length;
+			while (remaining > 0) {
+				int srcLast = wrap(start + from + remaining - 1, capacity);
+				int dstLast = wrap(start + from + remaining - 1 + distance, capacity);
+				int n = Math.min(remaining, Math.min(srcLast + 1, dstLast + 1));
+				System.arraycopy(ring, srcLast - n + 1, ring, dstLast - n + 1, n);
+				remaining -= n;
+			}
+		}
+	}
+
+	/**
+	 * Copy a run of items out of a circular buffer into a plain array.
+	 *
+	 * @param ring - the circular array.
+	 * @param capacity - how big the circular array is.
+	 * @param start - the slot holding position zero.
+	 * @param from - the position of the first item to copy.
+	 * @param length - how many items to copy.
+	 * @param dest - the plain array.
+	 * @param destPos - where the first item goes in dest.
+	 */
+	static void copyOut(Object ring, int capacity, int start, int from, int length, Object dest, int destPos) {
+		int done = 0;
+		while (done < length) {
+			int src = wrap(start + from + done, capacity);
+			int n = Math.min(length - done, capacity - src);
+			System.arraycopy(ring, src, dest, destPos + done, n);
+			done += n;
+		}
+	}
+
+	/**
+	 * Copy a run of items from a plain array into a circular buffer.
+	 *
+	 * @param src - the plain array.
+	 * @param srcPos - where the first item is in src.
+	 * @param ring - the circular array.
+	 * @param capacity - how big the circular array is.
+	 * @param start - the slot holding position zero.
+	 * @param from - the position the first item should have in the list.
+	 * @param length - how many items to copy.
+	 */
+	static void copyIn(Object src, int srcPos, Object ring, int capacity, int start, int from, int length) {
+		int done = 0;
+		while (done < length) {
+			int dst = wrap(start + from + done, capacity);
+			int n = Math.min(length - done, capacity - dst);
+			System.arraycopy(src, srcPos + done, ring, dst, n);
+			done += n;
+		}
+	}
+
+	/**
+	 * Null out a run of slots so that the garbage collector can have them.
+	 *
+	 * @param ring - the circular array.
+	 * @param start - the slot holding position zero.
+	 * @param from - the position of the first slot to clear.
+	 * @param length - how many slots to clear.
+	 */
+	static void clear(Object[] ring, int start, int from, int length) {
+		int done = 0;
+		while (done < length) {
+			int slot = wrap(start + from + done, ring.length);
+			int n = Math.min(length - done, ring.length - slot);
+			Arrays.fill(ring, slot, slot + n, null);
+			done += n;
+		}
+	}
+}
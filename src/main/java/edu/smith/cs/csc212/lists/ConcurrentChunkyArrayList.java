@@ -0,0 +1,402 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A {@linkplain ChunkyArrayList} that many threads can use at once.
+ *
+ * The list of chunks is guarded by a read-write lock. Reading or changing an
+ * item in place (getIndex, setIndex, updateIndex) only needs the read lock,
+ * so any number of threads can do it at once; on top of that, each chunk has
+ * a read-write lock of its own (chunks share a fixed set of locks, picked by
+ * chunk number), so readers never wait for each other, and a writer only
+ * waits for threads in the same chunk.
+ *
+ * addBack and removeBack usually only touch the back chunk: no other item
+ * moves, and the back chunk's count is the last thing in the size index, so
+ * no other chunk's position changes either. When that's so (the back chunk
+ * has room, or keeps enough items, and the list isn't being re-chunked) they
+ * take the read lock plus the back chunk's lock, and so don't stop readers
+ * and writers in other chunks. Anything else that adds or removes items
+ * moves the positions of the items after it, and may split, merge or
+ * re-chunk, so it takes the write lock and has the whole list to itself.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class ConcurrentChunkyArrayList<T> extends ListADT<T> {
+	/**
+	 * How many chunk locks there are; a power of two.
+	 * This is not private for use in tests.
+	 */
+	static final int STRIPES = 64;
+	/**
+	 * The list doing the real work. Only touched while holding directory.
+	 */
+	private final ChunkyArrayList<T> list;
+	/**
+	 * Read-locked to look up a chunk, write-locked to add or remove.
+	 */
+	private final ReentrantReadWriteLock directory;
+	/**
+	 * Chunk i is guarded by stripes[i % STRIPES] while holding the read lock.
+	 */
+	private final ReentrantReadWriteLock[] stripes;
+
+	/**
+	 * Create a ConcurrentChunkyArrayList that picks its own chunk-size, like
+	 * {@linkplain ChunkyArrayList#ChunkyArrayList()}.
+	 */
+	public ConcurrentChunkyArrayList() {
+		this(new ChunkyArrayList<T>());
+	}
+
+	/**
+	 * Create a ConcurrentChunkyArrayList with a specific chunk-size.
+	 * @param chunkSize - how many items to store per node in this list.
+	 */
+	public ConcurrentChunkyArrayList(int chunkSize) {
+		this(new ChunkyArrayList<T>(chunkSize));
+	}
+
+	/**
+	 * All of the constructors end up here.
+	 * @param list - an empty list to guard.
+	 */
+	private ConcurrentChunkyArrayList(ChunkyArrayList<T> list) {
+		this.list = list;
+		this.directory = new ReentrantReadWriteLock();
+		this.stripes = new ReentrantReadWriteLock[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantReadWriteLock();
+		}
+	}
+
+	/**
+	 * Find the lock for the chunk holding a position. The caller holds the
+	 * read lock and checks the index.
+	 * @param index - a position in [0, size).
+	 * @return the lock for its chunk.
+	 */
+	private ReentrantReadWriteLock stripeFor(int index) {
+		return stripes[list.chunkIndexOf(index) & (STRIPES - 1)];
+	}
+
+	/**
+	 * Find the lock for the back chunk. The caller holds the read lock, so
+	 * the back chunk stays the back chunk.
+	 * @return the lock for the back chunk, or null if there are no chunks.
+	 */
+	private ReentrantReadWriteLock backStripe() {
+		int count = list.chunkCount();
+		return (count == 0) ? null : stripes[(count - 1) & (STRIPES - 1)];
+	}
+
+	@Override
+	public T removeFront() {
+		directory.writeLock().lock();
+		try {
+			return list.removeFront();
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Under the read lock and the back chunk's lock, if that's all it needs;
+	 * see the class comment.
+	 */
+	@Override
+	public T removeBack() {
+		directory.readLock().lock();
+		try {
+			ReentrantReadWriteLock stripe = backStripe();
+			if (stripe != null) {
+				stripe.writeLock().lock();
+				try {
+					if (list.canRemoveBackInPlace()) {
+						return list.removeBack();
+					}
+				} finally {
+					stripe.writeLock().unlock();
+				}
+			}
+		} finally {
+			directory.readLock().unlock();
+		}
+		directory.writeLock().lock();
+		try {
+			return list.removeBack();
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		directory.writeLock().lock();
+		try {
+			return list.removeIndex(index);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void addFront(T item) {
+		directory.writeLock().lock();
+		try {
+			list.addFront(item);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Under the read lock and the back chunk's lock, if that's all it needs;
+	 * see the class comment.
+	 */
+	@Override
+	public void addBack(T item) {
+		directory.readLock().lock();
+		try {
+			ReentrantReadWriteLock stripe = backStripe();
+			if (stripe != null) {
+				stripe.writeLock().lock();
+				try {
+					if (list.canAddBackInPlace()) {
+						list.addBack(item);
+						return;
+					}
+				} finally {
+					stripe.writeLock().unlock();
+				}
+			}
+		} finally {
+			directory.readLock().unlock();
+		}
+		directory.writeLock().lock();
+		try {
+			list.addBack(item);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		directory.writeLock().lock();
+		try {
+			list.addIndex(index, item);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Add many items to the back at once, as one change.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		directory.writeLock().lock();
+		try {
+			list.addAllBack(items);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Add many items in the middle at once, as one change.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		directory.writeLock().lock();
+		try {
+			list.addAllAt(index, items);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once, as one change.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		directory.writeLock().lock();
+		try {
+			list.removeRange(fromIndex, toIndex);
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Repack every item into full chunks; see {@linkplain ChunkyArrayList#compact()}.
+	 * @return how full the chunks were before and after.
+	 */
+	public ChunkyArrayList.CompactionReport compact() {
+		directory.writeLock().lock();
+		try {
+			return list.compact();
+		} finally {
+			directory.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T getFront() {
+		return getIndex(0);
+	}
+
+	@Override
+	public T getBack() {
+		directory.readLock().lock();
+		try {
+			// removeBack never empties the list under the read lock.
+			checkNotEmpty();
+			ReentrantReadWriteLock stripe = backStripe();
+			stripe.readLock().lock();
+			try {
+				return list.getBack();
+			} finally {
+				stripe.readLock().unlock();
+			}
+		} finally {
+			directory.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T getIndex(int index) {
+		directory.readLock().lock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			return getLocked(index);
+		} finally {
+			directory.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Read an item while holding its chunk's read lock. The caller holds the
+	 * directory's read lock and checks the index.
+	 * @param index - a position in [0, size).
+	 * @return the item there.
+	 */
+	private T getLocked(int index) {
+		ReentrantReadWriteLock stripe = stripeFor(index);
+		stripe.readLock().lock();
+		try {
+			return list.getIndex(index);
+		} finally {
+			stripe.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		directory.readLock().lock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			ReentrantReadWriteLock stripe = stripeFor(index);
+			stripe.writeLock().lock();
+			try {
+				list.setIndex(index, value);
+			} finally {
+				stripe.writeLock().unlock();
+			}
+		} finally {
+			directory.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace an item with a new value computed from it, without any other
+	 * thread reading or writing that item in between.
+	 * @param index - a position in [0, size).
+	 * @param update - makes the new value from the old one; it must not use this list.
+	 * @return the new value.
+	 */
+	public T updateIndex(int index, UnaryOperator<T> update) {
+		directory.readLock().lock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			ReentrantReadWriteLock stripe = stripeFor(index);
+			stripe.writeLock().lock();
+			try {
+				T value = update.apply(list.getIndex(index));
+				list.setIndex(index, value);
+				return value;
+			} finally {
+				stripe.writeLock().unlock();
+			}
+		} finally {
+			directory.readLock().unlock();
+		}
+	}
+
+	/**
+	 * While other threads are adding and removing, this is only a snapshot.
+	 */
+	@Override
+	public int size() {
+		directory.readLock().lock();
+		try {
+			// addBack and removeBack may be changing the size under the back chunk's lock.
+			ReentrantReadWriteLock stripe = backStripe();
+			if (stripe == null) {
+				return list.size();
+			}
+			stripe.readLock().lock();
+			try {
+				return list.size();
+			} finally {
+				stripe.readLock().unlock();
+			}
+		} finally {
+			directory.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Loop over a copy of this list, made while holding the write lock so
+	 * that no item changes halfway through. Other threads can keep changing
+	 * the list while you loop; you won't see it.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		Object[] copy;
+		directory.writeLock().lock();
+		try {
+			copy = new Object[list.size()];
+			int i = 0;
+			for (T item : list) {
+				copy[i++] = item;
+			}
+		} finally {
+			directory.writeLock().unlock();
+		}
+		@SuppressWarnings("unchecked")
+		Iterator<T> items = (Iterator<T>) Arrays.asList(copy).iterator();
+		return items;
+	}
+}
@@ -0,0 +1,424 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.EmptyListError;
+
+/**
+ * A {@linkplain DoublyLinkedList} that many threads can use at once, as a
+ * queue or a deque, without an outside lock.
+ *
+ * There are two locks: one for the start of the list and one for the end.
+ * So a producer adding to the back and a consumer removing from the front
+ * don't wait for each other. That is only safe while the two ends are far
+ * enough apart that they don't touch the same nodes; when the list is short
+ * (fewer than {@linkplain #BOTH_LOCKS_BELOW} items), an operation on either
+ * end takes both locks, always the start lock first so that two threads
+ * can't each hold one and wait forever for the other.
+ *
+ * The count is an AtomicInteger. A remove takes its item out of the count
+ * before it unlinks the node, and an add puts its item in after it links the
+ * node, so the count never says there are more nodes than there really are.
+ *
+ * Anything that works by index, and iterating, takes both locks, so it waits
+ * for (and holds up) both ends.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class ConcurrentDoublyLinkedList<T> extends ListADT<T> {
+	/**
+	 * With fewer items than this, the two ends could touch the same nodes, so
+	 * we take both locks.
+	 */
+	static final int BOTH_LOCKS_BELOW = 4;
+	/**
+	 * A node that is always before the first item. It never holds a value.
+	 */
+	private final Node<T> start;
+	/**
+	 * A node that is always after the last item. It never holds a value.
+	 */
+	private final Node<T> end;
+	/**
+	 * Held while changing or looking at the start of the list.
+	 */
+	private final ReentrantLock startLock;
+	/**
+	 * Held while changing or looking at the end of the list.
+	 */
+	private final ReentrantLock endLock;
+	/**
+	 * How many items are in the list?
+	 */
+	private final AtomicInteger count;
+
+	/**
+	 * A concurrent doubly-linked list starts empty.
+	 */
+	public ConcurrentDoublyLinkedList() {
+		this.start = new Node<T>(null);
+		this.end = new Node<T>(null);
+		this.start.after = end;
+		this.end.before = start;
+		this.startLock = new ReentrantLock();
+		this.endLock = new ReentrantLock();
+		this.count = new AtomicInteger(0);
+	}
+
+	/**
+	 * Take both locks, start first.
+	 */
+	private void fullyLock() {
+		startLock.lock();
+		endLock.lock();
+	}
+
+	/**
+	 * Let go of both locks.
+	 */
+	private void fullyUnlock() {
+		endLock.unlock();
+		startLock.unlock();
+	}
+
+	/**
+	 * Put a new node into the list. The caller holds the right lock(s).
+	 * @param predecessor - the node it goes after.
+	 * @param item - the value to put in it.
+	 */
+	private void linkAfter(Node<T> predecessor, T item) {
+		Node<T> successor = predecessor.after;
+		Node<T> added = new Node<T>(item);
+		added.before = predecessor;
+		added.after = successor;
+		successor.before = added;
+		predecessor.after = added;
+	}
+
+	/**
+	 * Take a node out of the list. The caller holds the right lock(s).
+	 * @param node - the node to remove; not a sentinel.
+	 * @return the value it held.
+	 */
+	private T unlink(Node<T> node) {
+		node.before.after = node.after;
+		node.after.before = node.before;
+		T value = node.value;
+		node.value = null;
+		return value;
+	}
+
+	/**
+	 * Find the node at a position, walking from whichever end is closer.
+	 * The caller holds both locks and checks the index.
+	 * @param index - which node to find.
+	 * @return the node at that position.
+	 */
+	private Node<T> nodeAt(int index) {
+		int size = count.get();
+		if (index <= (size - 1) / 2) {
+			Node<T> current = start.after;
+			for (int i = 0; i < index; i++) {
+				current = current.after;
+			}
+			return current;
+		} else {
+			Node<T> current = end.before;
+			for (int i = size - 1; i > index; i--) {
+				current = current.before;
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * Remove the first item, if there is one.
+	 * @param orCrash - throw EmptyListError if there isn't one (rather than return null).
+	 * @return the item that was first, or null.
+	 */
+	private T takeFront(boolean orCrash) {
+		startLock.lock();
+		try {
+			int n;
+			while ((n = count.get()) >= BOTH_LOCKS_BELOW) {
+				if (count.compareAndSet(n, n - 1)) {
+					return unlink(start.after);
+				}
+			}
+			endLock.lock();
+			try {
+				if (count.get() == 0) {
+					if (orCrash) {
+						throw new EmptyListError();
+					}
+					return null;
+				}
+				count.decrementAndGet();
+				return unlink(start.after);
+			} finally {
+				endLock.unlock();
+			}
+		} finally {
+			startLock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the last item, if there is one.
+	 * @param orCrash - throw EmptyListError if there isn't one (rather than return null).
+	 * @return the item that was last, or null.
+	 */
+	private T takeBack(boolean orCrash) {
+		endLock.lock();
+		try {
+			int n;
+			while ((n = count.get()) >= BOTH_LOCKS_BELOW) {
+				if (count.compareAndSet(n, n - 1)) {
+					return unlink(end.before);
+				}
+			}
+		} finally {
+			endLock.unlock();
+		}
+		// we can't take the start lock while holding the end lock, so start over.
+		fullyLock();
+		try {
+			if (count.get() == 0) {
+				if (orCrash) {
+					throw new EmptyListError();
+				}
+				return null;
+			}
+			count.decrementAndGet();
+			return unlink(end.before);
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	/**
+	 * Remove the first item, like a queue.
+	 * @return the item that was first, or null if the list is empty.
+	 */
+	public T pollFront() {
+		return takeFront(false);
+	}
+
+	/**
+	 * Remove the last item, like a stack.
+	 * @return the item that was last, or null if the list is empty.
+	 */
+	public T pollBack() {
+		return takeBack(false);
+	}
+
+	@Override
+	public T removeFront() {
+		return takeFront(true);
+	}
+
+	@Override
+	public T removeBack() {
+		return takeBack(true);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		fullyLock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			Node<T> node = nodeAt(index);
+			count.decrementAndGet();
+			return unlink(node);
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public void addFront(T item) {
+		startLock.lock();
+		try {
+			if (count.get() >= BOTH_LOCKS_BELOW) {
+				linkAfter(start, item);
+				count.incrementAndGet();
+				return;
+			}
+			endLock.lock();
+			try {
+				linkAfter(start, item);
+				count.incrementAndGet();
+			} finally {
+				endLock.unlock();
+			}
+		} finally {
+			startLock.unlock();
+		}
+	}
+
+	@Override
+	public void addBack(T item) {
+		endLock.lock();
+		try {
+			if (count.get() >= BOTH_LOCKS_BELOW) {
+				linkAfter(end.before, item);
+				count.incrementAndGet();
+				return;
+			}
+		} finally {
+			endLock.unlock();
+		}
+		fullyLock();
+		try {
+			linkAfter(end.before, item);
+			count.incrementAndGet();
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		fullyLock();
+		try {
+			checkInclusiveIndex(index);
+			linkAfter(index == 0 ? start : nodeAt(index - 1), item);
+			count.incrementAndGet();
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public T getFront() {
+		startLock.lock();
+		try {
+			if (count.get() >= BOTH_LOCKS_BELOW) {
+				return start.after.value;
+			}
+			endLock.lock();
+			try {
+				checkNotEmpty();
+				return start.after.value;
+			} finally {
+				endLock.unlock();
+			}
+		} finally {
+			startLock.unlock();
+		}
+	}
+
+	@Override
+	public T getBack() {
+		endLock.lock();
+		try {
+			if (count.get() >= BOTH_LOCKS_BELOW) {
+				return end.before.value;
+			}
+		} finally {
+			endLock.unlock();
+		}
+		fullyLock();
+		try {
+			checkNotEmpty();
+			return end.before.value;
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public T getIndex(int index) {
+		fullyLock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			return nodeAt(index).value;
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		fullyLock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			nodeAt(index).value = value;
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	/**
+	 * While other threads are adding and removing, this is only a snapshot.
+	 */
+	@Override
+	public int size() {
+		return count.get();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return count.get() == 0;
+	}
+
+	/**
+	 * Loop over a copy of this list, made while holding both locks. Other
+	 * threads can keep changing the list while you loop; you won't see it.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		Object[] copy;
+		fullyLock();
+		try {
+			copy = new Object[count.get()];
+			int i = 0;
+			for (Node<T> current = start.after; current != end; current = current.after) {
+				copy[i++] = current.value;
+			}
+		} finally {
+			fullyUnlock();
+		}
+		@SuppressWarnings("unchecked")
+		Iterator<T> items = (Iterator<T>) Arrays.asList(copy).iterator();
+		return items;
+	}
+
+	/**
+	 * A node, like in DoublyLinkedList. The fields are volatile because a
+	 * node added under one lock may be removed under the other.
+	 *
+	 * @param <T> the type of the values stored.
+	 */
+	private static class Node<T> {
+		/**
+		 * What node comes before me?
+		 */
+		volatile Node<T> before;
+		/**
+		 * What node comes after me?
+		 */
+		volatile Node<T> after;
+		/**
+		 * What value is stored in this node?
+		 */
+		volatile T value;
+
+		/**
+		 * Create a node with no friends.
+		 * @param value - the value to put in it.
+		 */
+		Node(T value) {
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,335 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+/**
+ * A CopyOnWriteList is a {@linkplain GrowableList} (or, with a maximum size,
+ * a {@linkplain FixedSizeList}) for lists that are read all the time, by many
+ * threads, and hardly ever changed.
+ *
+ * The array is never changed once other threads can see it. Every change,
+ * even setIndex, copies the array, changes the copy, and then swaps it in
+ * through a volatile field. So a reader just grabs whatever array is there
+ * and reads it, without any locking, and an iterator loops over the array it
+ * started with: it never sees half of a change, and never throws a
+ * ConcurrentModificationException.
+ *
+ * That makes every change O(n), so only use this when reads (and especially
+ * loops over the whole list) are much more common than writes. Writers take
+ * a lock so that two changes at once don't lose one of them.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class CopyOnWriteList<T> extends ListADT<T> {
+	/**
+	 * An empty array to start with; it is never changed, so it can be shared.
+	 */
+	private static final Object[] EMPTY = new Object[0];
+	/**
+	 * The items, exactly filling the array. This array is never changed; a
+	 * change makes a new one and puts it here.
+	 */
+	private volatile Object[] array;
+	/**
+	 * The most items this list may hold.
+	 */
+	private final int maximumSize;
+	/**
+	 * Held while making and swapping in a new array.
+	 */
+	private final ReentrantLock writeLock;
+
+	/**
+	 * Construct a new, empty, CopyOnWriteList that can grow as big as it needs to.
+	 */
+	public CopyOnWriteList() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Construct a new, empty, CopyOnWriteList with a maximum size, like a FixedSizeList.
+	 * @param maximumSize - the most items it can hold; adding more throws RanOutOfSpaceError.
+	 */
+	public CopyOnWriteList(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+		}
+		this.array = EMPTY;
+		this.maximumSize = maximumSize;
+		this.writeLock = new ReentrantLock();
+	}
+
+	/**
+	 * Read an item out of an array.
+	 * @param items - a snapshot of the list.
+	 * @param index - a position in it.
+	 * @return the item stored there.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T itemAt(Object[] items, int index) {
+		return (T) items[index];
+	}
+
+	/**
+	 * Like checkNotEmpty and checkExclusiveIndex, but for one snapshot, so
+	 * that the check and the read agree even if a writer swaps the array.
+	 * @param items - a snapshot of the list.
+	 * @param index - the position about to be read.
+	 */
+	private static void checkSnapshotIndex(Object[] items, int index) {
+		if (items.length == 0) {
+			throw new EmptyListError();
+		}
+		if (index < 0 || index >= items.length) {
+			throw new BadIndexError(index);
+		}
+	}
+
+	/**
+	 * Make sure there is room for more items. The caller holds the write lock.
+	 * @param size - how many items there are now.
+	 * @param more - how many are being added.
+	 */
+	private void checkRoom(int size, int more) {
+		if (more > maximumSize - size) {
+			throw new RanOutOfSpaceError();
+		}
+	}
+
+	/**
+	 * Swap in a new array with some items put in. The rest slide over.
+	 * @param index - where the first new item goes.
+	 * @param values - the new items, in order.
+	 */
+	private void insert(int index, Object[] values) {
+		writeLock.lock();
+		try {
+			Object[] old = array;
+			if (index < 0 || index > old.length) {
+				throw new BadIndexError(index);
+			}
+			insert(old, index, values);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Swap in a new array with some items put on the back.
+	 * @param values - the new items, in order.
+	 */
+	private void append(Object[] values) {
+		writeLock.lock();
+		try {
+			Object[] old = array;
+			insert(old, old.length, values);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Swap in a new array with some items put in. The caller holds the write
+	 * lock and checks the index.
+	 * @param old - the array being replaced.
+	 * @param index - where the first new item goes.
+	 * @param values - the new items, in order.
+	 */
+	private void insert(Object[] old, int index, Object[] values) {
+		checkRoom(old.length, values.length);
+		if (values.length == 0) {
+			return;
+		}
+		Object[] copy = new Object[old.length + values.length];
+		System.arraycopy(old, 0, copy, 0, index);
+		System.arraycopy(values, 0, copy, index, values.length);
+		System.arraycopy(old, index, copy, index + values.length, old.length - index);
+		array = copy;
+	}
+
+	/**
+	 * Swap in a new array without the items in [fromIndex, toIndex). The
+	 * caller holds the write lock and checks the range.
+	 * @param old - the array being replaced.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	private void remove(Object[] old, int fromIndex, int toIndex) {
+		if (fromIndex == toIndex) {
+			return;
+		}
+		Object[] copy = new Object[old.length - (toIndex - fromIndex)];
+		System.arraycopy(old, 0, copy, 0, fromIndex);
+		System.arraycopy(old, toIndex, copy, fromIndex, old.length - toIndex);
+		array = (copy.length == 0) ? EMPTY : copy;
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	@Override
+	public T removeBack() {
+		writeLock.lock();
+		try {
+			Object[] old = array;
+			checkSnapshotIndex(old, old.length - 1);
+			remove(old, old.length - 1, old.length);
+			return itemAt(old, old.length - 1);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		writeLock.lock();
+		try {
+			Object[] old = array;
+			checkSnapshotIndex(old, index);
+			remove(old, index, index + 1);
+			return itemAt(old, index);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the items in [fromIndex, toIndex) with a single copy.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		writeLock.lock();
+		try {
+			Object[] old = array;
+			if (fromIndex < 0 || fromIndex > old.length) {
+				throw new BadIndexError(fromIndex);
+			}
+			if (toIndex < 0 || toIndex > old.length) {
+				throw new BadIndexError(toIndex);
+			}
+			if (fromIndex > toIndex) {
+				throw new BadIndexError(fromIndex);
+			}
+			remove(old, fromIndex, toIndex);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public void addFront(T item) {
+		insert(0, new Object[] { item });
+	}
+
+	@Override
+	public void addBack(T item) {
+		append(new Object[] { item });
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		insert(index, new Object[] { item });
+	}
+
+	/**
+	 * Add many items to the back with a single copy.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		append(items.toArray());
+	}
+
+	/**
+	 * Add many items in the middle with a single copy.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		insert(index, items.toArray());
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		writeLock.lock();
+		try {
+			Object[] old = array;
+			checkSnapshotIndex(old, index);
+			Object[] copy = Arrays.copyOf(old, old.length);
+			copy[index] = value;
+			array = copy;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T getFront() {
+		Object[] items = array;
+		checkSnapshotIndex(items, 0);
+		return itemAt(items, 0);
+	}
+
+	@Override
+	public T getBack() {
+		Object[] items = array;
+		checkSnapshotIndex(items, items.length - 1);
+		return itemAt(items, items.length - 1);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		Object[] items = array;
+		checkSnapshotIndex(items, index);
+		return itemAt(items, index);
+	}
+
+	@Override
+	public int size() {
+		return array.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return array.length == 0;
+	}
+
+	/**
+	 * Loop over the list as it was when the loop started. Changes made while
+	 * looping (by this thread or any other) aren't seen, and don't get in
+	 * the way.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		final Object[] items = array;
+		return new Iterator<T>() {
+			private int position = 0;
+
+			@Override
+			public boolean hasNext() {
+				return position < items.length;
+			}
+
+			@Override
+			public T next() {
+				if (position >= items.length) {
+					throw new NoSuchElementException();
+				}
+				return itemAt(items, position++);
+			}
+		};
+	}
+}
@@ -0,0 +1,279 @@
+package edu.smith.cs.csc212.lists;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A DoubleGrowableList is a {@linkplain GrowableList} of double values. They are
+ * stored directly in a double[] instead of as one boxed Double per item, which is
+ * several times smaller and gives the garbage collector nothing to chase.
+ * 
+ * It is still a ListADT&lt;Double&gt;, so it works anywhere the other lists do,
+ * but the methods with Double in their name (getDouble, addBackDouble, ...) never box.
+ * Like GrowableList, the items are kept in a circular buffer.
+ * 
+ * @author jfoley
+ *
+ */
+public class DoubleGrowableList extends ListADT<Double> {
+	/**
+	 * How big should the initial list be?
+	 * This is not private for use in tests.
+	 */
+	static final int START_SIZE = 10;
+	/**
+	 * This is the current array held by the list. It may be replaced.
+	 */
+	private double[] array;
+	/**
+	 * Where in the array is the front of the list?
+	 */
+	private int start;
+	/**
+	 * This is the number of elements in the array that are used.
+	 */
+	private int fill;
+
+	/**
+	 * Construct a new, empty, DoubleGrowableList.
+	 */
+	public DoubleGrowableList() {
+		this.array = new double[START_SIZE];
+		this.start = 0;
+		this.fill = 0;
+	}
+	
+	/**
+	 * Find where a position in the list lives in the circular array.
+	 * @param index - a position in the list, from -1 to the capacity.
+	 * @return the matching position in the array.
+	 */
+	private int slot(int index) {
+		int capacity = this.array.length;
+		int where = this.start + index;
+		if (where >= capacity) {
+			return where - capacity;
+		} else if (where < 0) {
+			return where + capacity;
+		}
+		return where;
+	}
+
+	/**
+	 * This private method is called when we need to make room in our list.
+	 * The items are unwrapped so that the front is at zero in the new array.
+	 */
+	private void resizeArray() {
+		double[] tempArray = new double[this.array.length * 2];
+		CircularArrays.copyOut(this.array, this.array.length, this.start, 0, this.fill, tempArray, 0);
+		this.array = tempArray;
+		this.start = 0;
+	}
+	
+	/**
+	 * Get an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item at that position.
+	 */
+	public double getDouble(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[slot(index)];
+	}
+	
+	/**
+	 * @return the first item, without boxing it.
+	 */
+	public double getFrontDouble() {
+		checkNotEmpty();
+		return this.array[this.start];
+	}
+	
+	/**
+	 * @return the last item, without boxing it.
+	 */
+	public double getBackDouble() {
+		checkNotEmpty();
+		return this.array[slot(this.fill - 1)];
+	}
+	
+	/**
+	 * Replace an item without boxing it.
+	 * @param index - the position of the item.
+	 * @param value - the new value.
+	 */
+	public void setDouble(int index, double value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[slot(index)] = value;
+	}
+	
+	/**
+	 * Add an item to the back without boxing it.
+	 * @param value - the new item.
+	 */
+	public void addBackDouble(double value) {
+		if (this.fill >= this.array.length) {
+			this.resizeArray();
+		}
+		this.array[slot(this.fill++)] = value;
+	}
+	
+	/**
+	 * Add an item to the front without boxing it.
+	 * @param value - the new item.
+	 */
+	public void addFrontDouble(double value) {
+		if (this.fill >= this.array.length) {
+			this.resizeArray();
+		}
+		this.start = slot(-1);
+		this.array[this.start] = value;
+		this.fill++;
+	}
+	
+	/**
+	 * Add an item in the middle without boxing it.
+	 * @param index - where it should go.
+	 * @param value - the new item.
+	 */
+	public void addIndexDouble(int index, double value) {
+		checkInclusiveIndex(index);
+		if (this.fill+1 > this.array.length) {
+			resizeArray();
+		}
+		if (index < this.fill / 2) {
+			// slide the front part to the left
+			this.start = slot(-1);
+			CircularArrays.slide(this.array, this.array.length, this.start, 1, index, -1);
+		} else {
+			// slide the back part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, index, this.fill - index, 1);
+		}
+		this.array[slot(index)] = value;
+		this.fill++;
+	}
+	
+	/**
+	 * Remove an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item that was there.
+	 */
+	public double removeDouble(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		double removedItem = this.array[slot(index)];
+		if (index < this.fill / 2) {
+			// slide the front part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, 0, index, 1);
+			this.start = slot(1);
+		} else {
+			// slide the back part to the left
+			CircularArrays.slide(this.array, this.array.length, this.start, index + 1, this.fill - index - 1, -1);
+		}
+		this.fill--;
+		return removedItem;
+	}
+	
+	/**
+	 * @return the first item, which is removed, without boxing it.
+	 */
+	public double removeFrontDouble() {
+		checkNotEmpty();
+		double removedItem = this.array[this.start];
+		this.start = slot(1);
+		this.fill--;
+		return removedItem;
+	}
+	
+	/**
+	 * @return the last item, which is removed, without boxing it.
+	 */
+	public double removeBackDouble() {
+		checkNotEmpty();
+		double removedItem = this.array[slot(this.fill - 1)];
+		this.fill--;
+		return removedItem;
+	}
+	
+	/**
+	 * @return a copy of the items, in order, in a plain array.
+	 */
+	public double[] toDoubleArray() {
+		double[] output = new double[this.fill];
+		CircularArrays.copyOut(this.array, this.array.length, this.start, 0, this.fill, output, 0);
+		return output;
+	}
+
+	@Override
+	public Double removeFront() {
+		return removeFrontDouble();
+	}
+
+	@Override
+	public Double removeBack() {
+		return removeBackDouble();
+	}
+
+	@Override
+	public Double removeIndex(int index) {
+		return removeDouble(index);
+	}
+
+	/**
+	 * Unbox an item for one of the ListADT methods, which take Double.
+	 * @param item - the item about to be stored.
+	 * @return its double value.
+	 */
+	private static double unbox(Double item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in a DoubleGrowableList");
+		}
+		return item;
+	}
+
+	@Override
+	public void addFront(Double item) {
+		addFrontDouble(unbox(item));
+	}
+
+	@Override
+	public void addBack(Double item) {
+		addBackDouble(unbox(item));
+	}
+
+	@Override
+	public void addIndex(int index, Double item) {
+		addIndexDouble(index, unbox(item));
+	}
+
+	@Override
+	public Double getFront() {
+		return getFrontDouble();
+	}
+
+	@Override
+	public Double getBack() {
+		return getBackDouble();
+	}
+
+	@Override
+	public Double getIndex(int index) {
+		return getDouble(index);
+	}
+
+	@Override
+	public void setIndex(int index, Double value) {
+		setDouble(index, unbox(value));
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+}
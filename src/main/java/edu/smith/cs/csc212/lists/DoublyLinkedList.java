@@ -1,5 +1,11 @@
 package edu.smith.cs.csc212.lists;
 
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
 import me.jjfoley.adt.ListADT;
 import me.jjfoley.adt.errors.BadIndexError;
 
@@ -19,144 +25,375 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 	 */
 	private Node<T> end;
 	
+	/**
+	 * How many nodes are in this list?
+	 */
 	private int fill;
+	/**
+	 * How many times has this list been added to or removed from?
+	 * Iterators use this to notice changes that they didn't make.
+	 */
+	private int modCount;
+	/**
+	 * Removed nodes that we can use again, chained through their after links.
+	 */
+	private Node<T> pool;
+	/**
+	 * How many nodes are in the pool?
+	 */
+	private int pooled;
+	/**
+	 * How many removed nodes may we keep? Zero turns the pool off.
+	 */
+	private final int poolCapacity;
+	/**
+	 * How many new nodes came from the pool?
+	 */
+	private long poolHits;
+	/**
+	 * How many new nodes had to be allocated?
+	 */
+	private long poolMisses;
 	
 	/**
 	 * A doubly-linked list starts empty.
 	 */
 	public DoublyLinkedList() {
+		this(0);
+	}
+	
+	/**
+	 * Make an empty list that keeps up to poolCapacity removed nodes around,
+	 * so that adds after removes (like in a queue) don't make any garbage.
+	 * @param poolCapacity - how many removed nodes to keep; zero for none.
+	 */
+	public DoublyLinkedList(int poolCapacity) {
+		if (poolCapacity < 0) {
+			throw new IllegalArgumentException("poolCapacity must not be negative: " + poolCapacity);
+		}
 		this.start = null;
 		this.end = null;
 		this.fill = 0;
+		this.modCount = 0;
+		this.pool = null;
+		this.pooled = 0;
+		this.poolCapacity = poolCapacity;
+	}
+	
+	/**
+	 * Get a node, from the pool if there is one there.
+	 * @param item - the value to put in it.
+	 * @param before - its predecessor.
+	 * @param after - its successor.
+	 * @return a node holding item.
+	 */
+	private Node<T> newNode(T item, Node<T> before, Node<T> after) {
+		Node<T> node = this.pool;
+		if (node == null) {
+			if (poolCapacity > 0) {
+				poolMisses++;
+			}
+			return new Node<T>(item, before, after);
+		}
+		poolHits++;
+		this.pool = node.after;
+		this.pooled--;
+		node.value = item;
+		node.before = before;
+		node.after = after;
+		return node;
+	}
+	
+	/**
+	 * Keep a node that was taken out of the list, if the pool has room.
+	 * The caller must be done with its links.
+	 * @param node - a node that is no longer in the list.
+	 */
+	private void recycle(Node<T> node) {
+		if (pooled < poolCapacity) {
+			node.value = null;
+			node.before = null;
+			node.after = this.pool;
+			this.pool = node;
+			this.pooled++;
+		}
+	}
+	
+	/**
+	 * @return how many new nodes were reused from the pool.
+	 */
+	public long poolHits() {
+		return poolHits;
+	}
+	
+	/**
+	 * @return how many new nodes had to be allocated even though there is a pool.
+	 */
+	public long poolMisses() {
+		return poolMisses;
+	}
+	
+	/**
+	 * @return the fraction of new nodes that came from the pool, or zero if
+	 *         the pool hasn't been used.
+	 */
+	public double poolHitRate() {
+		long total = poolHits + poolMisses;
+		return total == 0 ? 0.0 : (double) poolHits / total;
 	}
 	
 
-	@Override
-	public T removeFront() {
-		checkNotEmpty();
-		T removedValue = start.value;
-		if (fill == 1) {
-			start = end = null;
+	/**
+	 * Find the node at a position, walking from whichever end is closer.
+	 * The caller checks the index.
+	 * @param index - which node to find.
+	 * @return the node at that position.
+	 */
+	private Node<T> nodeAt(int index) {
+		//see if index is closer to the back or front, and then iterate from there. (Yay efficiency)
+		if (index <= (fill-1)/2) {
+			Node<T> current = this.start;
+			for (int i = 0; i < index; i++) {
+				current = current.after;
+			}
+			return current;
+		} else {
+			Node<T> current = this.end;
+			for (int i = fill-1; i > index; i--) {
+				current = current.before;
+			}
+			return current;
+		}
+	}
+	
+	/**
+	 * Put a new node into the list.
+	 * @param item - the value to put in it.
+	 * @param successor - the node it goes before, or null for the back.
+	 */
+	private void linkBefore(T item, Node<T> successor) {
+		Node<T> predecessor = (successor == null) ? this.end : successor.before;
+		Node<T> added = newNode(item, predecessor, successor);
+		if (predecessor == null) {
+			this.start = added;
+		} else {
+			predecessor.after = added;
+		}
+		if (successor == null) {
+			this.end = added;
+		} else {
+			successor.before = added;
+		}
+		fill++;
+		modCount++;
+	}
+	
+	/**
+	 * Take a node out of the list by connecting its neighbors to each other.
+	 * @param node - the node to remove.
+	 * @return the value it held.
+	 */
+	private T unlink(Node<T> node) {
+		if (node.before == null) {
+			this.start = node.after;
 		} else {
-			start = start.after;
-			start.before = null;
+			node.before.after = node.after;
+		}
+		if (node.after == null) {
+			this.end = node.before;
+		} else {
+			node.after.before = node.before;
 		}
 		fill--;
-		return removedValue;
+		modCount++;
+		T value = node.value;
+		recycle(node);
+		return value;
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		return unlink(start);
 	}
 
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
-		T removedValue = end.value;
-		if (fill == 1) {
-			start = end = null;
-		} else {
-			end = end.before;
-			end.after = null;
-		}
-		fill--;
-		return removedValue;
+		return unlink(end);
 	}
 
 	@Override
 	public T removeIndex(int index) {
 		checkNotEmpty();
-		if (index >= fill || index < 0) {
-			throw new BadIndexError(index);
-		} else if (index == 0) {
-			return removeFront();
-		} else if (index == fill-1) {
-			return removeBack();
-		}
-		
-		//see if index is closer to the back or front, and then iterate from there. (Yay efficiency)
-		T removedValue = null;
-		if (index <= (fill-1)/2) {
-			int trackLoops = 0;
-			for (Node<T> current = this.start; trackLoops < index ; current = current.after) {
-				if (trackLoops == index-1) {
-					removedValue = current.after.value;
-					current.after = current.after.after;
-					current.after.before = current;
-				}
-				trackLoops++;
-			}
-		} else {
-			int trackLoops = fill-1;
-			for (Node<T> current = this.end; trackLoops > index-2 ; current = current.before) {
-				if (trackLoops == index-1) {
-					removedValue = current.after.value;
-					current.after = current.after.after;
-					current.after.before = current;
-				}
-				trackLoops--;
-			}
-		}
-		fill--;
-		return removedValue;
+		checkExclusiveIndex(index);
+		return unlink(nodeAt(index));
 	}
 
 	@Override
 	public void addFront(T item) {
-		if (start == null) {
-			start = end = new Node<T>(item);
-		} else {
-			Node<T> second = start;
-			start = new Node<T>(item, null, second);
-			second.before = start;
-		}
-		fill++;
+		linkBefore(item, start);
 	}
 
 	@Override
 	public void addBack(T item) {
-		if (end == null) {
-			start = end = new Node<T>(item);
-		} else {
-			Node<T> secondLast = end;
-			end = new Node<T>(item, secondLast, null);
-			secondLast.after = end;
-		}
-		fill++;
+		linkBefore(item, null);
 	}
 
 	@Override
 	public void addIndex(int index, T item) {
-		if (index > fill || index < 0) {
-			throw new BadIndexError(index);
-		} else if (isEmpty() || index == 0) {
-			addFront(item);
+		checkInclusiveIndex(index);
+		linkBefore(item, index == fill ? null : nodeAt(index));
+	}
+
+	/**
+	 * Add many items to the back at once.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		addAllAt(this.fill, items);
+	}
+	
+	/**
+	 * Add many items in the middle at once. We find index just once, build
+	 * a chain of new nodes, and splice the whole chain in.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		checkInclusiveIndex(index);
+		if (items.isEmpty()) {
+			return;
+		}
+		Node<T> successor = (index == fill) ? null : nodeAt(index);
+		Node<T> predecessor = (successor == null) ? this.end : successor.before;
+		
+		Node<T> first = null;
+		Node<T> last = predecessor;
+		int count = 0;
+		for (T item : items) {
+			Node<T> added = newNode(item, last, null);
+			if (last != null) {
+				last.after = added;
+			}
+			if (first == null) {
+				first = added;
+			}
+			last = added;
+			count++;
+		}
+		
+		if (predecessor == null) {
+			this.start = first;
+		}
+		last.after = successor;
+		if (successor == null) {
+			this.end = last;
+		} else {
+			successor.before = last;
+		}
+		fill += count;
+		modCount++;
+	}
+	
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once, by connecting the
+	 * nodes on either side of the range to each other.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		checkInclusiveIndex(fromIndex);
+		checkInclusiveIndex(toIndex);
+		if (fromIndex > toIndex) {
+			throw new BadIndexError(fromIndex);
+		}
+		if (fromIndex == toIndex) {
 			return;
-		} else if (index == fill) {
-			addBack(item);
+		}
+		Node<T> first = nodeAt(fromIndex);
+		Node<T> last = first;
+		for (int i = fromIndex + 1; i < toIndex; i++) {
+			last = last.after;
+		}
+		if (first.before == null) {
+			this.start = last.after;
+		} else {
+			first.before.after = last.after;
+		}
+		if (last.after == null) {
+			this.end = first.before;
+		} else {
+			last.after.before = first.before;
+		}
+		fill -= toIndex - fromIndex;
+		modCount++;
+		// give the removed nodes to the pool, while it has room.
+		last.after = null;
+		while (first != null && pooled < poolCapacity) {
+			Node<T> following = first.after;
+			recycle(first);
+			first = following;
+		}
+	}
+
+	/**
+	 * Move every item of another list onto the back of this one, in O(1):
+	 * we just connect our last node to its first node. The other list is
+	 * left empty.
+	 * @param other - the list to take the items from; not this list.
+	 */
+	public void concat(DoublyLinkedList<T> other) {
+		if (other == this) {
+			throw new IllegalArgumentException("Can't concat a list onto itself.");
+		}
+		if (other.isEmpty()) {
 			return;
 		}
+		if (this.isEmpty()) {
+			this.start = other.start;
+		} else {
+			this.end.after = other.start;
+			other.start.before = this.end;
+		}
+		this.end = other.end;
+		this.fill += other.fill;
+		this.modCount++;
 		
-		//see if index is closer to the back or front, and then iterate from there. (Yay efficiency)
+		other.start = null;
+		other.end = null;
+		other.fill = 0;
+		other.modCount++;
+	}
+	
+	/**
+	 * Cut this list in two. The items from index on are moved, without
+	 * copying, into a new list; this list keeps the ones before index.
+	 * Finding index walks from whichever end is closer.
+	 * @param index - the position of the first item to move.
+	 * @return a new list holding what used to be the back of this one.
+	 */
+	public DoublyLinkedList<T> splitAt(int index) {
+		checkInclusiveIndex(index);
+		DoublyLinkedList<T> back = new DoublyLinkedList<>(poolCapacity);
+		if (index == fill) {
+			return back;
+		}
+		Node<T> first = nodeAt(index);
+		back.start = first;
+		back.end = this.end;
+		back.fill = this.fill - index;
 		
-		if (index <= (fill-1)/2) {
-			int trackLoops = 0;
-			for (Node<T> current = this.start; trackLoops < index ; current = current.after) {
-				if (trackLoops == index-1) {
-					Node<T> next = current.after;
-					current.after = new Node<T>(item, current, next);
-					current.after.after.before = current.after;
-				}
-				trackLoops++;
-			}
+		this.end = first.before;
+		if (this.end == null) {
+			this.start = null;
 		} else {
-			int trackLoops = fill-1;
-			for (Node<T> current = this.end; trackLoops > index-2 ; current = current.before) {
-				if (trackLoops == index-1) {
-					Node<T> next = current.after;
-					current.after = new Node<T>(item, current, next);
-					current.after.after.before = current.after;
-				}
-				trackLoops--;
-			}
+			this.end.after = null;
 		}
-		fill++;
+		first.before = null;
+		this.fill = index;
+		this.modCount++;
+		return back;
 	}
 
 	@Override
@@ -174,65 +411,15 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 	@Override
 	public T getIndex(int index) {
 		checkNotEmpty();
-		if (index >= fill || index < 0) {
-			throw new BadIndexError(index);
-		} else if (index == 0) {
-			return start.value;
-		} else if (index == fill-1) {
-			return end.value;
-		}
-		
-		T retrievedValue = null;
-		//see if index is closer to the back or front, and then iterate from there. (Yay efficiency)
-		
-		if (index <= (fill-1)/2) {
-			int trackLoops = 0;
-			for (Node<T> current = this.start; trackLoops < index ; current = current.after) {
-				if (trackLoops == index-1) {
-					retrievedValue = current.after.value;
-				}
-				trackLoops++;
-			}
-		} else {
-			int trackLoops = fill-1;
-			for (Node<T> current = this.end; trackLoops > index ; current = current.before) {
-				if (trackLoops == index+1) {
-					retrievedValue = current.before.value;
-				}
-				trackLoops--;
-			}
-		}
-		return retrievedValue;
+		checkExclusiveIndex(index);
+		return nodeAt(index).value;
 	}
 	
+	@Override
 	public void setIndex(int index, T value) {
 		checkNotEmpty();
-		if (index >= fill || index < 0) {
-			throw new BadIndexError(index);
-		} else if (isEmpty()) {
-			addFront(value);
-			return;
-		}
-		
-		//see if index is closer to the back or front, and then iterate from there. (Yay efficiency)
-		
-		if (index <= (fill-1)/2) {
-			int trackLoops = 0;
-			for (Node<T> current = this.start; trackLoops <= index ; current = current.after) {
-				if (trackLoops == index) {
-					current.value = value;
-				}
-				trackLoops++;
-			}
-		} else {
-			int trackLoops = fill-1;
-			for (Node<T> current = this.end; trackLoops >= index ; current = current.before) {
-				if (trackLoops == index) {
-					current.value = value;
-				}
-				trackLoops--;
-			}
-		}
+		checkExclusiveIndex(index);
+		nodeAt(index).value = value;
 	}
 
 	@Override
@@ -249,6 +436,157 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 		}
 	}
 	
+	/**
+	 * Loop over this list by following the nodes, rather than with getIndex.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator(0);
+	}
+	
+	/**
+	 * @return a cursor over this list, starting before the first item.
+	 */
+	public ListIterator<T> listIterator() {
+		return listIterator(0);
+	}
+	
+	/**
+	 * Get a cursor over this list. Moving it either way, and set, add or
+	 * remove at the cursor, are all O(1). If the list is changed any other way
+	 * while the cursor is in use, it throws a ConcurrentModificationException.
+	 * 
+	 * @param index - the position of the item that next() should return.
+	 * @return a cursor starting before that item.
+	 */
+	public ListIterator<T> listIterator(int index) {
+		checkInclusiveIndex(index);
+		return new NodeIterator(index);
+	}
+	
+	/**
+	 * A ListIterator that remembers which node it is at.
+	 * Not static, because it needs the list to add and remove nodes.
+	 */
+	private class NodeIterator implements ListIterator<T> {
+		/**
+		 * The node that next() will return, or null at the back.
+		 */
+		private Node<T> next;
+		/**
+		 * The position of that node.
+		 */
+		private int nextIndex;
+		/**
+		 * The node last returned by next() or previous(), for set and remove.
+		 */
+		private Node<T> lastReturned;
+		/**
+		 * What modCount should be, if nobody else changed the list.
+		 */
+		private int expectedModCount;
+		
+		/**
+		 * Start a cursor before a given position.
+		 * @param index - the position of the item that next() should return.
+		 */
+		public NodeIterator(int index) {
+			this.next = (index == fill) ? null : nodeAt(index);
+			this.nextIndex = index;
+			this.lastReturned = null;
+			this.expectedModCount = modCount;
+		}
+		
+		/**
+		 * Crash if the list was changed by something other than this cursor.
+		 */
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < fill;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			next = next.after;
+			nextIndex++;
+			return lastReturned.value;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			next = (next == null) ? end : next.before;
+			lastReturned = next;
+			nextIndex--;
+			return lastReturned.value;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			Node<T> afterRemoved = lastReturned.after;
+			unlink(lastReturned);
+			if (next == lastReturned) {
+				// we just came back with previous().
+				next = afterRemoved;
+			} else {
+				nextIndex--;
+			}
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(T value) {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			lastReturned.value = value;
+		}
+
+		@Override
+		public void add(T value) {
+			checkForComodification();
+			linkBefore(value, next);
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+	
 	/**
 	 * The node on any linked list should not be exposed.
 	 * Static means we don't need a "this" of DoublyLinkedList to make a node.
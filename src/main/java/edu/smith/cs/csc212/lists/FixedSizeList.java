@@ -1,23 +1,33 @@
 package edu.smith.cs.csc212.lists;
 
-import me.jjfoley.adt.ArrayWrapper;
+import java.util.Collection;
+
 import me.jjfoley.adt.ListADT;
 import me.jjfoley.adt.errors.BadIndexError;
-import me.jjfoley.adt.errors.EmptyListError;
 import me.jjfoley.adt.errors.RanOutOfSpaceError;
-import me.jjfoley.adt.errors.TODOErr;
 
 /**
  * FixedSizeList is a List with a maximum size.
+ * 
+ * The items are kept in a circular buffer: the front of the list may be
+ * anywhere in the array, and the back wraps around to the beginning. This
+ * makes add and remove at either end O(1), and addIndex/removeIndex only
+ * slide the items on whichever side of the index is shorter. Those slides are
+ * done with {@linkplain CircularArrays}, a couple of System.arraycopy calls
+ * rather than one getIndex/setIndex pair per item.
  * @author jfoley
  *
  * @param <T>
  */
 public class FixedSizeList<T> extends ListADT<T> {
 	/**
-	 * This is the array of fixed size.
+	 * This is the array of fixed size. We cast items back to T on the way out.
+	 */
+	private Object[] array;
+	/**
+	 * Where in the array is the front of the list?
 	 */
-	private ArrayWrapper<T> array;
+	private int start;
 	/**
 	 * This keeps track of what we have used and what is left.
 	 */
@@ -28,9 +38,36 @@ public class FixedSizeList<T> extends ListADT<T> {
 	 * @param maximumSize - the size of the array to use.
 	 */
 	public FixedSizeList(int maximumSize) {
-		this.array = new ArrayWrapper<>(maximumSize);
+		this.array = new Object[maximumSize];
+		this.start = 0;
 		this.fill = 0;
 	}
+	
+	/**
+	 * Find where a position in the list lives in the circular array.
+	 * @param index - a position in the list, from -1 to the capacity.
+	 * @return the matching position in the array.
+	 */
+	private int slot(int index) {
+		int capacity = this.array.length;
+		int where = this.start + index;
+		if (where >= capacity) {
+			return where - capacity;
+		} else if (where < 0) {
+			return where + capacity;
+		}
+		return where;
+	}
+	
+	/**
+	 * Read an item out of the array.
+	 * @param slot - a position in the array (not the list!)
+	 * @return the item stored there.
+	 */
+	@SuppressWarnings("unchecked")
+	private T itemAt(int slot) {
+		return (T) this.array[slot];
+	}
 
 	@Override
 	public boolean isEmpty() {
@@ -46,66 +83,79 @@ public class FixedSizeList<T> extends ListADT<T> {
 	public void setIndex(int index, T value) {
 		checkNotEmpty();
 		this.checkExclusiveIndex(index);
-		this.array.setIndex(index, value);
+		this.array[slot(index)] = value;
 	}
 
 	@Override
 	public T getIndex(int index) {
 		checkNotEmpty();
 		this.checkExclusiveIndex(index);
-		return this.array.getIndex(index);
+		return itemAt(slot(index));
 	}
 
 	@Override
 	public T getFront() {
 		checkNotEmpty();
-		return this.array.getIndex(0);
+		return itemAt(this.start);
 	}
 
 	@Override
 	public T getBack() {
 		checkNotEmpty();
-		return this.array.getIndex(fill-1);
+		return itemAt(slot(fill-1));
 	}
 
 	@Override
 	public void addIndex(int index, T value) {
-		// slide to the right
 		checkInclusiveIndex(index);
-		if (this.fill+1 > this.array.size()) {
+		if (this.isFull()) {
 			throw new RanOutOfSpaceError();
 		}
-		for (int i = this.fill-1; i >= index; i--) {
-			this.array.setIndex(i+1, this.array.getIndex(i));
+		if (index < this.fill / 2) {
+			// slide the front part to the left
+			this.start = slot(-1);
+			CircularArrays.slide(this.array, this.array.length, this.start, 1, index, -1);
+		} else {
+			// slide the back part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, index, this.fill - index, 1);
 		}
-		this.array.setIndex(index, value);
+		this.array[slot(index)] = value;
 		this.fill++;
 	}
 
 	@Override
 	public void addFront(T value) {
-		this.addIndex(0, value);
+		if (this.isFull()) {
+			throw new RanOutOfSpaceError();
+		}
+		this.start = slot(-1);
+		this.array[this.start] = value;
+		this.fill++;
 	}
 
 	@Override
 	public void addBack(T value) {
-		if (fill < array.size()) {
-			array.setIndex(fill++, value);
-		} else {
+		if (this.isFull()) {
 			throw new RanOutOfSpaceError();
 		}
+		this.array[slot(fill++)] = value;
 	}
 
 	@Override
 	public T removeIndex(int index) {
-		// slide to the left
 		checkNotEmpty();
 		checkExclusiveIndex(index);
-		T removedItem = this.array.getIndex(index);
-		for (int i = index; i < this.fill-1; i++) {
-			this.array.setIndex(i, this.array.getIndex(i+1));
+		T removedItem = itemAt(slot(index));
+		if (index < this.fill / 2) {
+			// slide the front part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, 0, index, 1);
+			this.array[this.start] = null;
+			this.start = slot(1);
+		} else {
+			// slide the back part to the left
+			CircularArrays.slide(this.array, this.array.length, this.start, index + 1, this.fill - index - 1, -1);
+			this.array[slot(this.fill-1)] = null;
 		}
-		this.array.setIndex(this.fill-1, null);
 		this.fill--;
 		return removedItem;
 	}
@@ -113,15 +163,110 @@ public class FixedSizeList<T> extends ListADT<T> {
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
-		T removedItem = this.array.getIndex(fill-1);
-		this.array.setIndex(fill-1, null);
+		int last = slot(fill-1);
+		T removedItem = itemAt(last);
+		this.array[last] = null;
 		fill--;
 		return removedItem;
 	}
 
 	@Override
 	public T removeFront() {
-		return removeIndex(0);
+		checkNotEmpty();
+		T removedItem = itemAt(this.start);
+		this.array[this.start] = null;
+		this.start = slot(1);
+		fill--;
+		return removedItem;
+	}
+
+	/**
+	 * Add many items to the back at once.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		addAllAt(this.fill, items);
+	}
+	
+	/**
+	 * Add many items in the middle at once. The items after index slide over
+	 * just once, rather than once for each new item.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		Object[] values = items.toArray();
+		addAll(index, values, 0, values.length);
+	}
+	
+	/**
+	 * Add a run of items from an array. Used by addAllAt and
+	 * {@linkplain ChunkyArrayList}; the caller promises they are all T.
+	 * @param index - where the first new item should go.
+	 * @param values - where the items come from.
+	 * @param offset - the position of the first item in values.
+	 * @param length - how many items to add.
+	 */
+	void addAll(int index, Object[] values, int offset, int length) {
+		checkInclusiveIndex(index);
+		if (length > this.array.length - this.fill) {
+			throw new RanOutOfSpaceError();
+		}
+		if (length == 0) {
+			return;
+		}
+		if (index < this.fill / 2) {
+			// slide the front part to the left
+			this.start = CircularArrays.wrap(this.start - length, this.array.length);
+			CircularArrays.slide(this.array, this.array.length, this.start, length, index, -length);
+		} else {
+			// slide the back part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, index, this.fill - index, length);
+		}
+		CircularArrays.copyIn(values, offset, this.array, this.array.length, this.start, index, length);
+		this.fill += length;
+	}
+	
+	/**
+	 * Copy a run of items out into an array. Used by {@linkplain ChunkyArrayList}.
+	 * @param index - the position of the first item to copy.
+	 * @param dest - where the items go.
+	 * @param destPos - the position in dest for the first item.
+	 * @param length - how many items to copy.
+	 */
+	void copyTo(int index, Object[] dest, int destPos, int length) {
+		checkInclusiveIndex(index);
+		checkInclusiveIndex(index + length);
+		CircularArrays.copyOut(this.array, this.array.length, this.start, index, length, dest, destPos);
+	}
+	
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once. The items on the
+	 * shorter side slide over just once.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		checkInclusiveIndex(fromIndex);
+		checkInclusiveIndex(toIndex);
+		if (fromIndex > toIndex) {
+			throw new BadIndexError(fromIndex);
+		}
+		int length = toIndex - fromIndex;
+		if (length == 0) {
+			return;
+		}
+		if (fromIndex < this.fill - toIndex) {
+			// slide the front part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, 0, fromIndex, length);
+			CircularArrays.clear(this.array, this.start, 0, length);
+			this.start = CircularArrays.wrap(this.start + length, this.array.length);
+		} else {
+			// slide the back part to the left
+			CircularArrays.slide(this.array, this.array.length, this.start, toIndex, this.fill - toIndex, -length);
+			CircularArrays.clear(this.array, this.start, this.fill - length, length);
+		}
+		this.fill -= length;
 	}
 
 	/**
@@ -130,7 +275,16 @@ public class FixedSizeList<T> extends ListADT<T> {
 	 * @return if true this FixedSizeList is full.
 	 */
 	public boolean isFull() {
-		return this.fill == this.array.size();
+		return this.fill == this.array.length;
+	}
+	
+	/**
+	 * How many items fit? Used by {@linkplain ChunkyArrayList}, whose chunks
+	 * aren't all the same size.
+	 * @return the size of the array.
+	 */
+	int capacity() {
+		return this.array.length;
 	}
 
 }
@@ -0,0 +1,225 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A GapBufferList is a {@linkplain GrowableList} whose free space is kept in
+ * the middle of the array, wherever the last edit happened, instead of at the
+ * end. This is how text editors store the text you are typing.
+ *
+ * The items before the gap are at the front of the array, and the items after
+ * it are at the back. To add or remove somewhere else, we first move the gap
+ * there, which only slides the items between the old place and the new one.
+ * So a burst of adds and removes near the same spot is O(1) each, no matter
+ * how long the list is.
+ *
+ * When the gap is used up, the array grows like in GrowableList, and the new
+ * space becomes the gap.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class GapBufferList<T> extends ListADT<T> {
+	/**
+	 * How big should the initial list be?
+	 * This is not private for use in tests.
+	 */
+	static final int START_SIZE = 10;
+	/**
+	 * The items and the gap. We cast items back to T on the way out.
+	 */
+	private Object[] array;
+	/**
+	 * The first slot of the gap, which is also how many items are before it.
+	 */
+	private int gapStart;
+	/**
+	 * The slot after the gap; items from here to the end of the array are after it.
+	 */
+	private int gapEnd;
+	/**
+	 * How much bigger should the array get when the gap is used up?
+	 */
+	private final GrowthPolicy policy;
+
+	/**
+	 * Construct a new, empty, GapBufferList.
+	 */
+	public GapBufferList() {
+		this(START_SIZE, GrowthPolicy.DOUBLING);
+	}
+
+	/**
+	 * Construct a new, empty, GapBufferList with room for a known number of items.
+	 * @param initialCapacity - how many items fit before the array must grow.
+	 */
+	public GapBufferList(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.DOUBLING);
+	}
+
+	/**
+	 * Construct a new, empty, GapBufferList that grows in a particular way.
+	 * @param initialCapacity - how many items fit before the array must grow.
+	 * @param policy - how to grow the array when the gap is used up.
+	 */
+	public GapBufferList(int initialCapacity, GrowthPolicy policy) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+		}
+		this.array = new Object[initialCapacity];
+		this.gapStart = 0;
+		this.gapEnd = initialCapacity;
+		this.policy = policy;
+	}
+
+	/**
+	 * @param index - a position in the list.
+	 * @return the slot of the array holding it.
+	 */
+	private int slot(int index) {
+		return index < gapStart ? index : index + (gapEnd - gapStart);
+	}
+
+	/**
+	 * @param slot - a slot of the array that holds an item.
+	 * @return that item.
+	 */
+	@SuppressWarnings("unchecked")
+	private T itemAt(int slot) {
+		return (T) array[slot];
+	}
+
+	/**
+	 * Move the gap so that it starts at a position in the list, sliding the
+	 * items in between over to the other side of it.
+	 * @param index - the position the gap should start at.
+	 */
+	private void moveGap(int index) {
+		int gap = gapEnd - gapStart;
+		if (index < gapStart) {
+			// slide [index, gapStart) to the back side of the gap.
+			int length = gapStart - index;
+			System.arraycopy(array, index, array, index + gap, length);
+			Arrays.fill(array, index, Math.min(gapStart, index + gap), null);
+		} else if (index > gapStart) {
+			// slide the items after the gap, up to index, to the front side of it.
+			int length = index - gapStart;
+			System.arraycopy(array, gapEnd, array, gapStart, length);
+			Arrays.fill(array, Math.max(gapEnd, index), gapEnd + length, null);
+		}
+		gapStart = index;
+		gapEnd = index + gap;
+	}
+
+	/**
+	 * This private method is called when the gap is used up. It makes a bigger
+	 * array, with the extra space in the gap.
+	 */
+	private void resizeArray() {
+		int size = size();
+		int capacity = policy.grow(array.length, size + 1);
+		Object[] bigger = new Object[capacity];
+		int after = array.length - gapEnd;
+		System.arraycopy(array, 0, bigger, 0, gapStart);
+		System.arraycopy(array, gapEnd, bigger, capacity - after, after);
+		this.array = bigger;
+		this.gapEnd = capacity - after;
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		return removeIndex(size() - 1);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		T removedItem;
+		if (index < gapStart) {
+			// the item is just before the gap once it moves: like backspace.
+			moveGap(index + 1);
+			removedItem = itemAt(--gapStart);
+			array[gapStart] = null;
+		} else {
+			// the item is just after the gap once it moves: like delete.
+			moveGap(index);
+			removedItem = itemAt(gapEnd);
+			array[gapEnd++] = null;
+		}
+		return removedItem;
+	}
+
+	@Override
+	public void addFront(T item) {
+		addIndex(0, item);
+	}
+
+	@Override
+	public void addBack(T item) {
+		addIndex(size(), item);
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		if (gapStart == gapEnd) {
+			resizeArray();
+		}
+		moveGap(index);
+		array[gapStart++] = item;
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return itemAt(slot(0));
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return itemAt(slot(size() - 1));
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return itemAt(slot(index));
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		array[slot(index)] = value;
+	}
+
+	@Override
+	public int size() {
+		return array.length - (gapEnd - gapStart);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Where is the gap? For testing.
+	 * @return the position the gap starts at.
+	 */
+	int gapPosition() {
+		return gapStart;
+	}
+}
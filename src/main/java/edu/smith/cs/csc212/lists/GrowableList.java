@@ -1,14 +1,22 @@
 package edu.smith.cs.csc212.lists;
 
-import me.jjfoley.adt.ArrayWrapper;
+import java.util.Collection;
+
 import me.jjfoley.adt.ListADT;
-import me.jjfoley.adt.errors.RanOutOfSpaceError;
-import me.jjfoley.adt.errors.TODOErr;
+import me.jjfoley.adt.errors.BadIndexError;
 
 /**
  * A GrowableList is also known as an ArrayList. It starts at a particular size
  * and grows as needed, replacing its inner array with a larger one when more
- * space is necessary.
+ * space is necessary. How much larger is up to its {@linkplain GrowthPolicy},
+ * and when it becomes mostly empty it hands half of its space back.
+ * 
+ * Like {@linkplain FixedSizeList}, the items are kept in a circular buffer so
+ * that it works well as a queue: adding and removing at either end is O(1)
+ * (amortized, when it needs to grow), and addIndex/removeIndex slide whichever
+ * side of the index is shorter. Slides and resizes go through
+ * {@linkplain CircularArrays}, so they are a few System.arraycopy calls rather
+ * than a loop over every item.
  * 
  * @author jfoley
  *
@@ -22,102 +30,320 @@ public class GrowableList<T> extends ListADT<T> {
 	static final int START_SIZE = 10;
 	/**
 	 * This is the current array held by the GrowableList. It may be replaced.
+	 * We cast items back to T on the way out.
 	 */
-	private ArrayWrapper<T> array;
+	private Object[] array;
+	/**
+	 * Where in the array is the front of the list?
+	 */
+	private int start;
 	/**
 	 * This is the number of elements in the array that are used.
 	 */
 	private int fill;
+	/**
+	 * How big was the array at first?
+	 */
+	private final int initialCapacity;
+	/**
+	 * We never shrink below this: initialCapacity, or more if ensureCapacity
+	 * asked for it, until trimToSize.
+	 */
+	private int minCapacity;
+	/**
+	 * How much bigger should the array get when it is full?
+	 */
+	private final GrowthPolicy policy;
 
 	/**
 	 * Construct a new, empty, GrowableList.
 	 */
 	public GrowableList() {
-		this.array = new ArrayWrapper<>(START_SIZE);
+		this(START_SIZE, GrowthPolicy.DOUBLING);
+	}
+	
+	/**
+	 * Construct a new, empty, GrowableList with room for a known number of items.
+	 * @param initialCapacity - how many items fit before the array must grow.
+	 */
+	public GrowableList(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.DOUBLING);
+	}
+	
+	/**
+	 * Construct a new, empty, GrowableList that grows in a particular way.
+	 * @param initialCapacity - how many items fit before the array must grow.
+	 * @param policy - how to grow the array when it is full.
+	 */
+	public GrowableList(int initialCapacity, GrowthPolicy policy) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+		}
+		if (policy == null) {
+			throw new IllegalArgumentException("policy must not be null");
+		}
+		this.array = new Object[initialCapacity];
+		this.start = 0;
 		this.fill = 0;
+		this.initialCapacity = initialCapacity;
+		this.minCapacity = initialCapacity;
+		this.policy = policy;
+	}
+	
+	/**
+	 * Find where a position in the list lives in the circular array.
+	 * @param index - a position in the list, from -1 to the capacity.
+	 * @return the matching position in the array.
+	 */
+	private int slot(int index) {
+		int capacity = this.array.length;
+		int where = this.start + index;
+		if (where >= capacity) {
+			return where - capacity;
+		} else if (where < 0) {
+			return where + capacity;
+		}
+		return where;
+	}
+	
+	/**
+	 * Read an item out of the array.
+	 * @param slot - a position in the array (not the list!)
+	 * @return the item stored there.
+	 */
+	@SuppressWarnings("unchecked")
+	private T itemAt(int slot) {
+		return (T) this.array[slot];
 	}
 
 	@Override
 	public T removeFront() {
 		this.checkNotEmpty();
-		return removeIndex(0);
+		T removedItem = itemAt(this.start);
+		this.array[this.start] = null;
+		this.start = slot(1);
+		this.fill--;
+		shrinkIfSparse();
+		return removedItem;
 	}
 
 	@Override
 	public T removeBack() {
 		this.checkNotEmpty();
-		return removeIndex(fill - 1);
+		int last = slot(this.fill - 1);
+		T removedItem = itemAt(last);
+		this.array[last] = null;
+		this.fill--;
+		shrinkIfSparse();
+		return removedItem;
 	}
 
 	@Override
 	public T removeIndex(int index) {
-		// slide to the left
 		checkNotEmpty();
 		checkExclusiveIndex(index);
-		T removedItem = this.array.getIndex(index);
-		for (int i = index; i < this.fill-1; i++) {
-			this.array.setIndex(i, this.array.getIndex(i+1));
+		T removedItem = itemAt(slot(index));
+		if (index < this.fill / 2) {
+			// slide the front part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, 0, index, 1);
+			this.array[this.start] = null;
+			this.start = slot(1);
+		} else {
+			// slide the back part to the left
+			CircularArrays.slide(this.array, this.array.length, this.start, index + 1, this.fill - index - 1, -1);
+			this.array[slot(this.fill-1)] = null;
 		}
-		this.array.setIndex(this.fill-1, null);
 		this.fill--;
+		shrinkIfSparse();
 		return removedItem;
 	}
 
 	@Override
 	public void addFront(T item) {
-		addIndex(0, item);
+		if (this.fill >= this.array.length) {
+			this.resizeArray();
+		}
+		this.start = slot(-1);
+		this.array[this.start] = item;
+		this.fill++;
 	}
 
 	@Override
 	public void addBack(T item) {
-		if (fill >= array.size()) {
+		if (this.fill >= this.array.length) {
 			this.resizeArray();
 		}
-		array.setIndex(fill++, item);
+		this.array[slot(this.fill++)] = item;
 	}
 
 	/**
 	 * This private method is called when we need to make room in our GrowableList.
+	 * The {@linkplain GrowthPolicy} decides how much room.
 	 */
 	private void resizeArray() {
-		ArrayWrapper<T> tempArray = new ArrayWrapper<T>(this.array.size() * 2);
-		for (int i = 0; i < this.array.size(); i++) {
-			tempArray.setIndex(i, this.array.getIndex(i));
-		}
+		resizeArray(this.policy.grow(this.array.length, this.fill + 1));
+	}
+	
+	/**
+	 * Replace the array with one of a different size.
+	 * The items are unwrapped so that the front is at zero in the new array.
+	 * @param capacity - the new size; at least fill.
+	 */
+	private void resizeArray(int capacity) {
+		Object[] tempArray = new Object[capacity];
+		CircularArrays.copyOut(this.array, this.array.length, this.start, 0, this.fill, tempArray, 0);
 		this.array = tempArray;
+		this.start = 0;
+	}
+	
+	/**
+	 * After a remove, give back space if the array is less than a quarter full.
+	 * We only halve it (until it is at least a quarter full again), so it
+	 * takes a lot of adds before it must grow again.
+	 */
+	private void shrinkIfSparse() {
+		int capacity = this.array.length;
+		while (capacity > this.minCapacity && this.fill < capacity / 4) {
+			capacity = Math.max(this.minCapacity, capacity / 2);
+		}
+		if (capacity < this.array.length) {
+			resizeArray(capacity);
+		}
+	}
+	
+	/**
+	 * Make room for a number of items up front, so that loading that many
+	 * doesn't have to grow the array over and over. Removes won't shrink the
+	 * array below this, either, until trimToSize.
+	 * @param minCapacity - how many items should fit.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		this.minCapacity = Math.max(this.minCapacity, minCapacity);
+		if (minCapacity > this.array.length) {
+			resizeArray(minCapacity);
+		}
+	}
+	
+	/**
+	 * Shrink the array down to exactly the items it holds, and forget what
+	 * ensureCapacity asked for.
+	 */
+	public void trimToSize() {
+		this.minCapacity = this.initialCapacity;
+		if (this.fill < this.array.length) {
+			resizeArray(this.fill);
+		}
+	}
+	
+	/**
+	 * How many items fit before the array must grow? For testing.
+	 * @return the size of the array.
+	 */
+	int capacity() {
+		return this.array.length;
 	}
 
 	@Override
 	public void addIndex(int index, T item) {
-		// slide to the right
 		checkInclusiveIndex(index);
-		if (this.fill+1 > this.array.size()) {
+		if (this.fill+1 > this.array.length) {
 			resizeArray();
 		}
-		for (int i = this.fill-1; i >= index; i--) {
-			this.array.setIndex(i+1, this.array.getIndex(i));
+		if (index < this.fill / 2) {
+			// slide the front part to the left
+			this.start = slot(-1);
+			CircularArrays.slide(this.array, this.array.length, this.start, 1, index, -1);
+		} else {
+			// slide the back part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, index, this.fill - index, 1);
 		}
-		this.array.setIndex(index, item);
+		this.array[slot(index)] = item;
 		this.fill++;
 	}
 
+	/**
+	 * Add many items to the back at once. The array grows at most once.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		addAllAt(this.fill, items);
+	}
+	
+	/**
+	 * Add many items in the middle at once. The array grows at most once,
+	 * and the items after index slide over just once.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		checkInclusiveIndex(index);
+		Object[] values = items.toArray();
+		int length = values.length;
+		if (length == 0) {
+			return;
+		}
+		if (this.fill + length > this.array.length) {
+			resizeArray(this.policy.grow(this.array.length, this.fill + length));
+		}
+		if (index < this.fill / 2) {
+			// slide the front part to the left
+			this.start = CircularArrays.wrap(this.start - length, this.array.length);
+			CircularArrays.slide(this.array, this.array.length, this.start, length, index, -length);
+		} else {
+			// slide the back part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, index, this.fill - index, length);
+		}
+		CircularArrays.copyIn(values, 0, this.array, this.array.length, this.start, index, length);
+		this.fill += length;
+	}
+	
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once. The items on the
+	 * shorter side slide over just once.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		checkInclusiveIndex(fromIndex);
+		checkInclusiveIndex(toIndex);
+		if (fromIndex > toIndex) {
+			throw new BadIndexError(fromIndex);
+		}
+		int length = toIndex - fromIndex;
+		if (length == 0) {
+			return;
+		}
+		if (fromIndex < this.fill - toIndex) {
+			// slide the front part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, 0, fromIndex, length);
+			CircularArrays.clear(this.array, this.start, 0, length);
+			this.start = CircularArrays.wrap(this.start + length, this.array.length);
+		} else {
+			// slide the back part to the left
+			CircularArrays.slide(this.array, this.array.length, this.start, toIndex, this.fill - toIndex, -length);
+			CircularArrays.clear(this.array, this.start, this.fill - length, length);
+		}
+		this.fill -= length;
+		shrinkIfSparse();
+	}
+
 	@Override
 	public T getFront() {
 		checkNotEmpty();
-		return this.getIndex(0);
+		return itemAt(this.start);
 	}
 
 	@Override
 	public T getBack() {
 		checkNotEmpty();
-		return this.getIndex(this.fill - 1);
+		return itemAt(slot(this.fill - 1));
 	}
 
 	@Override
 	public T getIndex(int index) {
 		checkNotEmpty();
 		checkExclusiveIndex(index);
-		return this.array.getIndex(index);
+		return itemAt(slot(index));
 	}
 
 	@Override
@@ -134,7 +360,7 @@ public class GrowableList<T> extends ListADT<T> {
 	public void setIndex(int index, T value) {
 		checkNotEmpty();
 		checkExclusiveIndex(index);
-		this.array.setIndex(index, value);
+		this.array[slot(index)] = value;
 	}
 
 }
@@ -0,0 +1,80 @@
+package edu.smith.cs.csc212.lists;
+
+/**
+ * A GrowthPolicy decides how much bigger a {@linkplain GrowableList} makes its
+ * array when it runs out of room. Doubling (the default) keeps addBack O(1)
+ * on average; the others trade some copying for less wasted space.
+ * 
+ * @author jfoley
+ *
+ */
+public interface GrowthPolicy {
+	/**
+	 * The biggest array we will ask for; some JVMs can't quite make an
+	 * array of Integer.MAX_VALUE items.
+	 */
+	int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Decide how big the new array should be.
+	 * @param capacity - how big the array is now.
+	 * @param needed - how many items it must be able to hold.
+	 * @return the new size, which is at least needed.
+	 */
+	int grow(int capacity, int needed);
+
+	/**
+	 * The usual policy: twice as big every time.
+	 */
+	GrowthPolicy DOUBLING = factor(2.0);
+
+	/**
+	 * Grow by multiplying the size.
+	 * @param factor - what to multiply by; must be more than 1.
+	 * @return a policy that grows by that factor.
+	 */
+	static GrowthPolicy factor(double factor) {
+		if (!(factor > 1.0)) {
+			throw new IllegalArgumentException("factor must be more than 1: " + factor);
+		}
+		return (capacity, needed) -> atLeast((long) (capacity * factor), needed);
+	}
+
+	/**
+	 * Grow by adding the same amount every time. This wastes little space,
+	 * but makes filling a list O(n^2) overall.
+	 * @param step - how many slots to add; must be positive.
+	 * @return a policy that grows by that step.
+	 */
+	static GrowthPolicy additive(int step) {
+		if (step <= 0) {
+			throw new IllegalArgumentException("step must be positive: " + step);
+		}
+		return (capacity, needed) -> atLeast((long) capacity + step, needed);
+	}
+
+	/**
+	 * Grow by multiplying the size, but never add more than maxStep slots at
+	 * once, so that very big lists don't waste very big amounts of space.
+	 * @param factor - what to multiply by; must be more than 1.
+	 * @param maxStep - the most slots to add at once; must be positive.
+	 * @return a policy that grows by that factor, up to that step.
+	 */
+	static GrowthPolicy capped(double factor, int maxStep) {
+		if (!(factor > 1.0) || maxStep <= 0) {
+			throw new IllegalArgumentException("need factor > 1 and maxStep > 0: " + factor + ", " + maxStep);
+		}
+		return (capacity, needed) -> atLeast(Math.min((long) (capacity * factor), (long) capacity + maxStep), needed);
+	}
+
+	/**
+	 * Clean up a proposed size: at least needed, at least one bigger, and
+	 * no bigger than {@linkplain #MAX_CAPACITY}.
+	 * @param proposed - what the policy would like.
+	 * @param needed - how many items must fit.
+	 * @return the size to use.
+	 */
+	static int atLeast(long proposed, int needed) {
+		return (int) Math.max(needed, Math.min(Math.max(proposed, 1), MAX_CAPACITY));
+	}
+}
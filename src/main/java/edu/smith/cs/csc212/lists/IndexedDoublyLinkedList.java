@@ -0,0 +1,314 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * This is a {@linkplain DoublyLinkedList} without any Node objects. Each node
+ * is a slot number instead: its value is in values[slot], and the slots of its
+ * neighbors are in prev[slot] and next[slot], with -1 standing in for null.
+ *
+ * Walking the list just reads ints out of two arrays, which is much kinder to
+ * the cache than chasing pointers to objects all over the heap, and the
+ * garbage collector only has three arrays to look at instead of one object
+ * per item.
+ *
+ * Slots of removed nodes go on a free list (chained through next) and are
+ * used again before the arrays grow. The arrays grow by doubling, like
+ * {@linkplain GrowableList}.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class IndexedDoublyLinkedList<T> extends ListADT<T> {
+	/**
+	 * How much room should a new list have?
+	 */
+	private static final int START_SIZE = 10;
+	/**
+	 * Stands for "no node", like null does in DoublyLinkedList.
+	 */
+	private static final int NONE = -1;
+	/**
+	 * The value held by each node.
+	 */
+	private Object[] values;
+	/**
+	 * The slot of the node before each node, or NONE.
+	 */
+	private int[] prev;
+	/**
+	 * The slot of the node after each node, or NONE. For free slots, the next
+	 * free slot.
+	 */
+	private int[] next;
+	/**
+	 * The slot of the first node, or NONE.
+	 */
+	private int start;
+	/**
+	 * The slot of the last node, or NONE.
+	 */
+	private int end;
+	/**
+	 * The first free slot, or NONE.
+	 */
+	private int free;
+	/**
+	 * Slots from here on have never been used.
+	 */
+	private int used;
+	/**
+	 * How many nodes are in this list?
+	 */
+	private int fill;
+	/**
+	 * How many times has this list been added to or removed from?
+	 * Iterators use this to notice changes that they didn't make.
+	 */
+	private int modCount;
+
+	/**
+	 * An indexed doubly-linked list starts empty.
+	 */
+	public IndexedDoublyLinkedList() {
+		this(START_SIZE);
+	}
+
+	/**
+	 * Make an empty list with room for some nodes before it has to grow.
+	 * @param initialCapacity - how many nodes to make room for.
+	 */
+	public IndexedDoublyLinkedList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+		}
+		this.values = new Object[initialCapacity];
+		this.prev = new int[initialCapacity];
+		this.next = new int[initialCapacity];
+		this.start = NONE;
+		this.end = NONE;
+		this.free = NONE;
+		this.used = 0;
+		this.fill = 0;
+		this.modCount = 0;
+	}
+
+	/**
+	 * @param slot - a node.
+	 * @return the value it holds.
+	 */
+	@SuppressWarnings("unchecked")
+	private T valueAt(int slot) {
+		return (T) values[slot];
+	}
+
+	/**
+	 * Get a slot for a new node: a free one if there is one, otherwise a new
+	 * one, growing the arrays if we must.
+	 * @return an unused slot.
+	 */
+	private int allocate() {
+		if (free != NONE) {
+			int slot = free;
+			free = next[slot];
+			return slot;
+		}
+		if (used == values.length) {
+			int bigger = Math.max(START_SIZE, values.length * 2);
+			values = Arrays.copyOf(values, bigger);
+			prev = Arrays.copyOf(prev, bigger);
+			next = Arrays.copyOf(next, bigger);
+		}
+		return used++;
+	}
+
+	/**
+	 * Put a slot on the free list.
+	 * @param slot - a node that is no longer in the list.
+	 */
+	private void release(int slot) {
+		values[slot] = null;
+		next[slot] = free;
+		free = slot;
+	}
+
+	/**
+	 * Find the node at a position, walking from whichever end is closer.
+	 * The caller checks the index.
+	 * @param index - which node to find.
+	 * @return the slot of the node at that position.
+	 */
+	private int nodeAt(int index) {
+		if (index <= (fill - 1) / 2) {
+			int current = start;
+			for (int i = 0; i < index; i++) {
+				current = next[current];
+			}
+			return current;
+		} else {
+			int current = end;
+			for (int i = fill - 1; i > index; i--) {
+				current = prev[current];
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * Put a new node into the list.
+	 * @param item - the value to put in it.
+	 * @param successor - the slot of the node it goes before, or NONE for the back.
+	 */
+	private void linkBefore(T item, int successor) {
+		int predecessor = (successor == NONE) ? end : prev[successor];
+		int added = allocate();
+		values[added] = item;
+		prev[added] = predecessor;
+		next[added] = successor;
+		if (predecessor == NONE) {
+			start = added;
+		} else {
+			next[predecessor] = added;
+		}
+		if (successor == NONE) {
+			end = added;
+		} else {
+			prev[successor] = added;
+		}
+		fill++;
+		modCount++;
+	}
+
+	/**
+	 * Take a node out of the list by connecting its neighbors to each other.
+	 * @param slot - the node to remove.
+	 * @return the value it held.
+	 */
+	private T unlink(int slot) {
+		int before = prev[slot];
+		int after = next[slot];
+		if (before == NONE) {
+			start = after;
+		} else {
+			next[before] = after;
+		}
+		if (after == NONE) {
+			end = before;
+		} else {
+			prev[after] = before;
+		}
+		T value = valueAt(slot);
+		release(slot);
+		fill--;
+		modCount++;
+		return value;
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		return unlink(start);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		return unlink(end);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return unlink(nodeAt(index));
+	}
+
+	@Override
+	public void addFront(T item) {
+		linkBefore(item, start);
+	}
+
+	@Override
+	public void addBack(T item) {
+		linkBefore(item, NONE);
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		linkBefore(item, index == fill ? NONE : nodeAt(index));
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return valueAt(start);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return valueAt(end);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return valueAt(nodeAt(index));
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		values[nodeAt(index)] = value;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+	/**
+	 * Loop over this list by following the next links, rather than with getIndex.
+	 * If the list is changed while looping, it throws a
+	 * ConcurrentModificationException.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int current = start;
+			private final int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return current != NONE;
+			}
+
+			@Override
+			public T next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (current == NONE) {
+					throw new NoSuchElementException();
+				}
+				T value = valueAt(current);
+				current = next[current];
+				return value;
+			}
+		};
+	}
+}
@@ -0,0 +1,357 @@
+package edu.smith.cs.csc212.lists;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A {@linkplain ChunkyArrayList} of int values, where every chunk is a
+ * {@linkplain IntFixedSizeList} -- a flat int[] -- rather than an array of boxed
+ * Integer objects. Adding and removing in the middle works just like
+ * ChunkyArrayList; the methods with Int in their name never box, and
+ * addAllInt/copyTo move whole runs of items in and out a chunk at a time.
+ * 
+ * @author jfoley
+ *
+ */
+public class IntChunkyArrayList extends ListADT<Integer> {
+	/**
+	 * How big is each chunk?
+	 */
+	private int chunkSize;
+	/**
+	 * Where do the chunks go?
+	 */
+	private GrowableList<IntFixedSizeList> chunks;
+	/**
+	 * How many items are in the chunks, so that we don't have to add them up.
+	 */
+	private int fill;
+	/**
+	 * Where does each position live? This is kept in sync with chunks.
+	 */
+	private ChunkSizeIndex sizeIndex;
+
+	/**
+	 * Create an IntChunkyArrayList with a specific chunk-size.
+	 * @param chunkSize - how many items to store per node in this list.
+	 */
+	public IntChunkyArrayList(int chunkSize) {
+		this.chunkSize = chunkSize;
+		chunks = new GrowableList<>();
+		sizeIndex = new ChunkSizeIndex();
+		fill = 0;
+	}
+	
+	/**
+	 * @return a new, empty chunk with room for chunkSize items.
+	 */
+	private IntFixedSizeList makeChunk() {
+		return new IntFixedSizeList(chunkSize);
+	}
+	
+	/**
+	 * Put a new chunk into the list of chunks and keep the index in sync.
+	 * @param position - where the chunk should go.
+	 * @param chunk - the new chunk (which may already have items in it).
+	 */
+	private void insertChunk(int position, IntFixedSizeList chunk) {
+		if (position == chunks.size()) {
+			chunks.addBack(chunk);
+			sizeIndex.append(chunk.size());
+		} else {
+			chunks.addIndex(position, chunk);
+			sizeIndex.rebuild(chunks);
+		}
+	}
+	
+	/**
+	 * Take a chunk out of the list of chunks and keep the index in sync.
+	 * @param position - which chunk to remove.
+	 */
+	private void removeChunk(int position) {
+		if (position == chunks.size() - 1) {
+			chunks.removeBack();
+			sizeIndex.removeLast();
+		} else {
+			chunks.removeIndex(position);
+			sizeIndex.rebuild(chunks);
+		}
+	}
+	
+	/**
+	 * @return the first item, which is removed, without boxing it.
+	 */
+	public int removeFrontInt() {
+		checkNotEmpty();
+		IntFixedSizeList front = chunks.getFront();
+		int removedValue = front.removeFrontInt();
+		if (front.isEmpty()) {
+			removeChunk(0);
+		} else {
+			sizeIndex.add(0, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+	
+	/**
+	 * @return the last item, which is removed, without boxing it.
+	 */
+	public int removeBackInt() {
+		checkNotEmpty();
+		IntFixedSizeList back = chunks.getBack();
+		int removedValue = back.removeBackInt();
+		if (back.isEmpty()) {
+			removeChunk(chunks.size() - 1);
+		} else {
+			sizeIndex.add(chunks.size() - 1, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+	
+	/**
+	 * Remove an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item that was there.
+	 */
+	public int removeInt(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		
+		int i = sizeIndex.findChunk(index);
+		IntFixedSizeList chunk = chunks.getIndex(i);
+		int removedValue = chunk.removeInt(index - sizeIndex.prefix(i));
+		// Don't let there be any empty chunks in the middle.
+		if (chunk.isEmpty()) {
+			removeChunk(i);
+		} else {
+			sizeIndex.add(i, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+	
+	/**
+	 * Add an item to the front without boxing it.
+	 * @param item - the new item.
+	 */
+	public void addFrontInt(int item) {
+		if (chunks.isEmpty() || chunks.getFront().isFull()) {
+			insertChunk(0, makeChunk());
+		}
+		chunks.getFront().addFrontInt(item);
+		sizeIndex.add(0, 1);
+		fill++;
+	}
+	
+	/**
+	 * Add an item to the back without boxing it.
+	 * @param item - the new item.
+	 */
+	public void addBackInt(int item) {
+		if (chunks.isEmpty() || chunks.getBack().isFull()) {
+			insertChunk(chunks.size(), makeChunk());
+		}
+		chunks.getBack().addBackInt(item);
+		sizeIndex.add(chunks.size() - 1, 1);
+		fill++;
+	}
+	
+	/**
+	 * Add an item in the middle without boxing it.
+	 * @param index - where it should go.
+	 * @param item - the new item.
+	 */
+	public void addIndexInt(int index, int item) {
+		checkInclusiveIndex(index);
+		if (index == fill) {
+			addBackInt(item);
+			return;
+		}
+
+		int i = sizeIndex.findChunk(index);
+		IntFixedSizeList chunk = chunks.getIndex(i);
+		int offset = index - sizeIndex.prefix(i);
+		if (!chunk.isFull()) {
+			chunk.addIndexInt(offset, item);
+			sizeIndex.add(i, 1);
+		} else if (i + 1 < chunks.size() && !chunks.getIndex(i + 1).isFull()) {
+			// push our last item over to the next chunk to make room.
+			chunks.getIndex(i + 1).addFrontInt(chunk.removeBackInt());
+			sizeIndex.add(i + 1, 1);
+			chunk.addIndexInt(offset, item);
+		} else {
+			// the neighbor is full too, so our last item gets a new chunk.
+			IntFixedSizeList overflow = makeChunk();
+			overflow.addBackInt(chunk.removeBackInt());
+			chunk.addIndexInt(offset, item);
+			insertChunk(i + 1, overflow);
+		}
+		fill++;
+	}
+	
+	/**
+	 * Add a run of items to the back. Each chunk is filled with one bulk copy.
+	 * @param values - the new items, in order.
+	 */
+	public void addAllInt(int[] values) {
+		int done = 0;
+		while (done < values.length) {
+			if (chunks.isEmpty() || chunks.getBack().isFull()) {
+				insertChunk(chunks.size(), makeChunk());
+			}
+			IntFixedSizeList back = chunks.getBack();
+			int n = Math.min(values.length - done, chunkSize - back.size());
+			back.addAllInt(values, done, n);
+			sizeIndex.add(chunks.size() - 1, n);
+			fill += n;
+			done += n;
+		}
+	}
+	
+	/**
+	 * Copy a run of items out into a plain array, one bulk copy per chunk.
+	 * @param index - the position of the first item to copy.
+	 * @param dest - where the items go.
+	 * @param destPos - the position in dest for the first item.
+	 * @param length - how many items to copy.
+	 */
+	public void copyTo(int index, int[] dest, int destPos, int length) {
+		checkInclusiveIndex(index);
+		checkInclusiveIndex(index + length);
+		if (length == 0) {
+			return;
+		}
+		int i = sizeIndex.findChunk(index);
+		int offset = index - sizeIndex.prefix(i);
+		int done = 0;
+		while (done < length) {
+			IntFixedSizeList chunk = chunks.getIndex(i++);
+			int n = Math.min(length - done, chunk.size() - offset);
+			chunk.copyTo(offset, dest, destPos + done, n);
+			done += n;
+			offset = 0;
+		}
+	}
+	
+	/**
+	 * @return a copy of the items, in order, in a plain array.
+	 */
+	public int[] toIntArray() {
+		int[] output = new int[fill];
+		copyTo(0, output, 0, fill);
+		return output;
+	}
+	
+	/**
+	 * @return the first item, without boxing it.
+	 */
+	public int getFrontInt() {
+		checkNotEmpty();
+		return this.chunks.getFront().getFrontInt();
+	}
+	
+	/**
+	 * @return the last item, without boxing it.
+	 */
+	public int getBackInt() {
+		checkNotEmpty();
+		return this.chunks.getBack().getBackInt();
+	}
+	
+	/**
+	 * Get an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item at that position.
+	 */
+	public int getInt(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		return chunks.getIndex(i).getInt(index - sizeIndex.prefix(i));
+	}
+	
+	/**
+	 * Replace an item without boxing it.
+	 * @param index - the position of the item.
+	 * @param value - the new value.
+	 */
+	public void setInt(int index, int value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		chunks.getIndex(i).setInt(index - sizeIndex.prefix(i), value);
+	}
+
+	@Override
+	public Integer removeFront() {
+		return removeFrontInt();
+	}
+
+	@Override
+	public Integer removeBack() {
+		return removeBackInt();
+	}
+
+	@Override
+	public Integer removeIndex(int index) {
+		return removeInt(index);
+	}
+
+	/**
+	 * Unbox an item for one of the ListADT methods, which take Integer.
+	 * @param item - the item about to be stored.
+	 * @return its int value.
+	 */
+	private static int unbox(Integer item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in an IntChunkyArrayList");
+		}
+		return item;
+	}
+
+	@Override
+	public void addFront(Integer item) {
+		addFrontInt(unbox(item));
+	}
+
+	@Override
+	public void addBack(Integer item) {
+		addBackInt(unbox(item));
+	}
+
+	@Override
+	public void addIndex(int index, Integer item) {
+		addIndexInt(index, unbox(item));
+	}
+
+	@Override
+	public Integer getFront() {
+		return getFrontInt();
+	}
+
+	@Override
+	public Integer getBack() {
+		return getBackInt();
+	}
+
+	@Override
+	public Integer getIndex(int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public void setIndex(int index, Integer value) {
+		setInt(index, unbox(value));
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+}
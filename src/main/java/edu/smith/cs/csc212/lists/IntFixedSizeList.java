@@ -0,0 +1,301 @@
+package edu.smith.cs.csc212.lists;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+/**
+ * An IntFixedSizeList is a {@linkplain FixedSizeList} of int values. They are
+ * stored directly in an int[] instead of as one boxed Integer per item, which is
+ * several times smaller and gives the garbage collector nothing to chase.
+ * 
+ * It is still a ListADT&lt;Integer&gt;, so it works anywhere the other lists do,
+ * but the methods with Int in their name (getInt, addBackInt, ...) never box.
+ * Like FixedSizeList, the items are kept in a circular buffer.
+ * 
+ * @author jfoley
+ *
+ */
+public class IntFixedSizeList extends ListADT<Integer> {
+	/**
+	 * This is the array of fixed size.
+	 */
+	private int[] array;
+	/**
+	 * Where in the array is the front of the list?
+	 */
+	private int start;
+	/**
+	 * This is the number of elements in the array that are used.
+	 */
+	private int fill;
+
+	/**
+	 * Construct a new IntFixedSizeList with a given maximum size.
+	 * @param maximumSize - the size of the array to use.
+	 */
+	public IntFixedSizeList(int maximumSize) {
+		this.array = new int[maximumSize];
+		this.start = 0;
+		this.fill = 0;
+	}
+	
+	/**
+	 * Find where a position in the list lives in the circular array.
+	 * @param index - a position in the list, from -1 to the capacity.
+	 * @return the matching position in the array.
+	 */
+	private int slot(int index) {
+		int capacity = this.array.length;
+		int where = this.start + index;
+		if (where >= capacity) {
+			return where - capacity;
+		} else if (where < 0) {
+			return where + capacity;
+		}
+		return where;
+	}
+
+	/**
+	 * Get an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item at that position.
+	 */
+	public int getInt(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[slot(index)];
+	}
+	
+	/**
+	 * @return the first item, without boxing it.
+	 */
+	public int getFrontInt() {
+		checkNotEmpty();
+		return this.array[this.start];
+	}
+	
+	/**
+	 * @return the last item, without boxing it.
+	 */
+	public int getBackInt() {
+		checkNotEmpty();
+		return this.array[slot(this.fill - 1)];
+	}
+	
+	/**
+	 * Replace an item without boxing it.
+	 * @param index - the position of the item.
+	 * @param value - the new value.
+	 */
+	public void setInt(int index, int value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[slot(index)] = value;
+	}
+	
+	/**
+	 * Add an item to the back without boxing it.
+	 * @param value - the new item.
+	 */
+	public void addBackInt(int value) {
+		if (this.isFull()) {
+			throw new RanOutOfSpaceError();
+		}
+		this.array[slot(this.fill++)] = value;
+	}
+	
+	/**
+	 * Add an item to the front without boxing it.
+	 * @param value - the new item.
+	 */
+	public void addFrontInt(int value) {
+		if (this.isFull()) {
+			throw new RanOutOfSpaceError();
+		}
+		this.start = slot(-1);
+		this.array[this.start] = value;
+		this.fill++;
+	}
+	
+	/**
+	 * Add an item in the middle without boxing it.
+	 * @param index - where it should go.
+	 * @param value - the new item.
+	 */
+	public void addIndexInt(int index, int value) {
+		checkInclusiveIndex(index);
+		if (this.isFull()) {
+			throw new RanOutOfSpaceError();
+		}
+		if (index < this.fill / 2) {
+			// slide the front part to the left
+			this.start = slot(-1);
+			CircularArrays.slide(this.array, this.array.length, this.start, 1, index, -1);
+		} else {
+			// slide the back part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, index, this.fill - index, 1);
+		}
+		this.array[slot(index)] = value;
+		this.fill++;
+	}
+	
+	/**
+	 * Remove an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item that was there.
+	 */
+	public int removeInt(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int removedItem = this.array[slot(index)];
+		if (index < this.fill / 2) {
+			// slide the front part to the right
+			CircularArrays.slide(this.array, this.array.length, this.start, 0, index, 1);
+			this.start = slot(1);
+		} else {
+			// slide the back part to the left
+			CircularArrays.slide(this.array, this.array.length, this.start, index + 1, this.fill - index - 1, -1);
+		}
+		this.fill--;
+		return removedItem;
+	}
+	
+	/**
+	 * @return the first item, which is removed, without boxing it.
+	 */
+	public int removeFrontInt() {
+		checkNotEmpty();
+		int removedItem = this.array[this.start];
+		this.start = slot(1);
+		this.fill--;
+		return removedItem;
+	}
+	
+	/**
+	 * @return the last item, which is removed, without boxing it.
+	 */
+	public int removeBackInt() {
+		checkNotEmpty();
+		int removedItem = this.array[slot(this.fill - 1)];
+		this.fill--;
+		return removedItem;
+	}
+	
+	/**
+	 * Add a run of items to the back, copying them in bulk.
+	 * @param values - where the items come from.
+	 * @param offset - the position of the first item in values.
+	 * @param length - how many items to add.
+	 */
+	public void addAllInt(int[] values, int offset, int length) {
+		if (length > this.array.length - this.fill) {
+			throw new RanOutOfSpaceError();
+		}
+		CircularArrays.copyIn(values, offset, this.array, this.array.length, this.start, this.fill, length);
+		this.fill += length;
+	}
+	
+	/**
+	 * Copy a run of items out into a plain array, in bulk.
+	 * @param index - the position of the first item to copy.
+	 * @param dest - where the items go.
+	 * @param destPos - the position in dest for the first item.
+	 * @param length - how many items to copy.
+	 */
+	public void copyTo(int index, int[] dest, int destPos, int length) {
+		checkInclusiveIndex(index);
+		checkInclusiveIndex(index + length);
+		CircularArrays.copyOut(this.array, this.array.length, this.start, index, length, dest, destPos);
+	}
+	
+	/**
+	 * @return a copy of the items, in order, in a plain array.
+	 */
+	public int[] toIntArray() {
+		int[] output = new int[this.fill];
+		CircularArrays.copyOut(this.array, this.array.length, this.start, 0, this.fill, output, 0);
+		return output;
+	}
+
+	@Override
+	public Integer removeFront() {
+		return removeFrontInt();
+	}
+
+	@Override
+	public Integer removeBack() {
+		return removeBackInt();
+	}
+
+	@Override
+	public Integer removeIndex(int index) {
+		return removeInt(index);
+	}
+
+	/**
+	 * Unbox an item for one of the ListADT methods, which take Integer.
+	 * @param item - the item about to be stored.
+	 * @return its int value.
+	 */
+	private static int unbox(Integer item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in an IntFixedSizeList");
+		}
+		return item;
+	}
+
+	@Override
+	public void addFront(Integer item) {
+		addFrontInt(unbox(item));
+	}
+
+	@Override
+	public void addBack(Integer item) {
+		addBackInt(unbox(item));
+	}
+
+	@Override
+	public void addIndex(int index, Integer item) {
+		addIndexInt(index, unbox(item));
+	}
+
+	@Override
+	public Integer getFront() {
+		return getFrontInt();
+	}
+
+	@Override
+	public Integer getBack() {
+		return getBackInt();
+	}
+
+	@Override
+	public Integer getIndex(int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public void setIndex(int index, Integer value) {
+		setInt(index, unbox(value));
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+	/**
+	 * Is this data structure full?
+	 * 
+	 * @return if true this IntFixedSizeList is full.
+	 */
+	public boolean isFull() {
+		return this.fill == this.array.length;
+	}
+
+}
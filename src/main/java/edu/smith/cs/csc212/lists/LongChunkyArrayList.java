@@ -0,0 +1,357 @@
+package edu.smith.cs.csc212.lists;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A {@linkplain ChunkyArrayList} of long values, where every chunk is a
+ * {@linkplain LongFixedSizeList} -- a flat long[] -- rather than an array of boxed
+ * Long objects. Adding and removing in the middle works just like
+ * ChunkyArrayList; the methods with Long in their name never box, and
+ * addAllLong/copyTo move whole runs of items in and out a chunk at a time.
+ * 
+ * @author jfoley
+ *
+ */
+public class LongChunkyArrayList extends ListADT<Long> {
+	/**
+	 * How big is each chunk?
+	 */
+	private int chunkSize;
+	/**
+	 * Where do the chunks go?
+	 */
+	private GrowableList<LongFixedSizeList> chunks;
+	/**
+	 * How many items are in the chunks, so that we don't have to add them up.
+	 */
+	private int fill;
+	/**
+	 * Where does each position live? This is kept in sync with chunks.
+	 */
+	private ChunkSizeIndex sizeIndex;
+
+	/**
+	 * Create a LongChunkyArrayList with a specific chunk-size.
+	 * @param chunkSize - how many items to store per node in this list.
+	 */
+	public LongChunkyArrayList(int chunkSize) {
+		this.chunkSize = chunkSize;
+		chunks = new GrowableList<>();
+		sizeIndex = new ChunkSizeIndex();
+		fill = 0;
+	}
+	
+	/**
+	 * @return a new, empty chunk with room for chunkSize items.
+	 */
+	private LongFixedSizeList makeChunk() {
+		return new LongFixedSizeList(chunkSize);
+	}
+	
+	/**
+	 * Put a new chunk into the list of chunks and keep the index in sync.
+	 * @param position - where the chunk should go.
+	 * @param chunk - the new chunk (which may already have items in it).
+	 */
+	private void insertChunk(int position, LongFixedSizeList chunk) {
+		if (position == chunks.size()) {
+			chunks.addBack(chunk);
+			sizeIndex.append(chunk.size());
+		} else {
+			chunks.addIndex(position, chunk);
+			sizeIndex.rebuild(chunks);
+		}
+	}
+	
+	/**
+	 * Take a chunk out of the list of chunks and keep the index in sync.
+	 * @param position - which chunk to remove.
+	 */
+	private void removeChunk(int position) {
+		if (position == chunks.size() - 1) {
+			chunks.removeBack();
+			sizeIndex.removeLast();
+		} else {
+			chunks.removeIndex(position);
+			sizeIndex.rebuild(chunks);
+		}
+	}
+	
+	/**
+	 * @return the first item, which is removed, without boxing it.
+	 */
+	public long removeFrontLong() {
+		checkNotEmpty();
+		LongFixedSizeList front = chunks.getFront();
+		long removedValue = front.removeFrontLong();
+		if (front.isEmpty()) {
+			removeChunk(0);
+		} else {
+			sizeIndex.add(0, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+	
+	/**
+	 * @return the last item, which is removed, without boxing it.
+	 */
+	public long removeBackLong() {
+		checkNotEmpty();
+		LongFixedSizeList back = chunks.getBack();
+		long removedValue = back.removeBackLong();
+		if (back.isEmpty()) {
+			removeChunk(chunks.size() - 1);
+		} else {
+			sizeIndex.add(chunks.size() - 1, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+	
+	/**
+	 * Remove an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item that was there.
+	 */
+	public long removeLong(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		
+		int i = sizeIndex.findChunk(index);
+		LongFixedSizeList chunk = chunks.getIndex(i);
+		long removedValue = chunk.removeLong(index - sizeIndex.prefix(i));
+		// Don't let there be any empty chunks in the middle.
+		if (chunk.isEmpty()) {
+			removeChunk(i);
+		} else {
+			sizeIndex.add(i, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+	
+	/**
+	 * Add an item to the front without boxing it.
+	 * @param item - the new item.
+	 */
+	public void addFrontLong(long item) {
+		if (chunks.isEmpty() || chunks.getFront().isFull()) {
+			insertChunk(0, makeChunk());
+		}
+		chunks.getFront().addFrontLong(item);
+		sizeIndex.add(0, 1);
+		fill++;
+	}
+	
+	/**
+	 * Add an item to the back without boxing it.
+	 * @param item - the new item.
+	 */
+	public void addBackLong(long item) {
+		if (chunks.isEmpty() || chunks.getBack().isFull()) {
+			insertChunk(chunks.size(), makeChunk());
+		}
+		chunks.getBack().addBackLong(item);
+		sizeIndex.add(chunks.size() - 1, 1);
+		fill++;
+	}
+	
+	/**
+	 * Add an item in the middle without boxing it.
+	 * @param index - where it should go.
+	 * @param item - the new item.
+	 */
+	public void addIndexLong(int index, long item) {
+		checkInclusiveIndex(index);
+		if (index == fill) {
+			addBackLong(item);
+			return;
+		}
+
+		int i = sizeIndex.findChunk(index);
+		LongFixedSizeList chunk = chunks.getIndex(i);
+		int offset = index - sizeIndex.prefix(i);
+		if (!chunk.isFull()) {
+			chunk.addIndexLong(offset, item);
+			sizeIndex.add(i, 1);
+		} else if (i + 1 < chunks.size() && !chunks.getIndex(i + 1).isFull()) {
+			// push our last item over to the next chunk to make room.
+			chunks.getIndex(i + 1).addFrontLong(chunk.removeBackLong());
+			sizeIndex.add(i + 1, 1);
+			chunk.addIndexLong(offset, item);
+		} else {
+			// the neighbor is full too, so our last item gets a new chunk.
+			LongFixedSizeList overflow = makeChunk();
+			overflow.addBackLong(chunk.removeBackLong());
+			chunk.addIndexLong(offset, item);
+			insertChunk(i + 1, overflow);
+		}
+		fill++;
+	}
+	
+	/**
+	 * Add a run of items to the back. Each chunk is filled with one bulk copy.
+	 * @param values - the new items, in order.
+	 */
+	public void addAllLong(long[] values) {
+		int done = 0;
+		while (done < values.length) {
+			if (chunks.isEmpty() || chunks.getBack().isFull()) {
+				insertChunk(chunks.size(), makeChunk());
+			}
+			LongFixedSizeList back = chunks.getBack();
+			int n = Math.min(values.length - done, chunkSize - back.size());
+			back.addAllLong(values, done, n);
+			sizeIndex.add(chunks.size() - 1, n);
+			fill += n;
+			done += n;
+		}
+	}
+	
+	/**
+	 * Copy a run of items out into a plain array, one bulk copy per chunk.
+	 * @param index - the position of the first item to copy.
+	 * @param dest - where the items go.
+	 * @param destPos - the position in dest for the first item.
+	 * @param length - how many items to copy.
+	 */
+	public void copyTo(int index, long[] dest, int destPos, int length) {
+		checkInclusiveIndex(index);
+		checkInclusiveIndex(index + length);
+		if (length == 0) {
+			return;
+		}
+		int i = sizeIndex.findChunk(index);
+		int offset = index - sizeIndex.prefix(i);
+		int done = 0;
+		while (done < length) {
+			LongFixedSizeList chunk = chunks.getIndex(i++);
+			int n = Math.min(length - done, chunk.size() - offset);
+			chunk.copyTo(offset, dest, destPos + done, n);
+			done += n;
+			offset = 0;
+		}
+	}
+	
+	/**
+	 * @return a copy of the items, in order, in a plain array.
+	 */
+	public long[] toLongArray() {
+		long[] output = new long[fill];
+		copyTo(0, output, 0, fill);
+		return output;
+	}
+	
+	/**
+	 * @return the first item, without boxing it.
+	 */
+	public long getFrontLong() {
+		checkNotEmpty();
+		return this.chunks.getFront().getFrontLong();
+	}
+	
+	/**
+	 * @return the last item, without boxing it.
+	 */
+	public long getBackLong() {
+		checkNotEmpty();
+		return this.chunks.getBack().getBackLong();
+	}
+	
+	/**
+	 * Get an item without boxing it.
+	 * @param index - the position of the item.
+	 * @return the item at that position.
+	 */
+	public long getLong(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		return chunks.getIndex(i).getLong(index - sizeIndex.prefix(i));
+	}
+	
+	/**
+	 * Replace an item without boxing it.
+	 * @param index - the position of the item.
+	 * @param value - the new value.
+	 */
+	public void setLong(int index, long value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		chunks.getIndex(i).setLong(index - sizeIndex.prefix(i), value);
+	}
+
+	@Override
+	public Long removeFront() {
+		return removeFrontLong();
+	}
+
+	@Override
+	public Long removeBack() {
+		return removeBackLong();
+	}
+
+	@Override
+	public Long removeIndex(int index) {
+		return removeLong(index);
+	}
+
+	/**
+	 * Unbox an item for one of the ListADT methods, which take Long.
+	 * @param item - the item about to be stored.
+	 * @return its long value.
+	 */
+	private static long unbox(Long item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in a LongChunkyArrayList");
+		}
+		return item;
+	}
+
+	@Override
+	public void addFront(Long item) {
+		addFrontLong(unbox(item));
+	}
+
+	@Override
+	public void addBack(Long item) {
+		addBackLong(unbox(item));
+	}
+
+	@Override
+	public void addIndex(int index, Long item) {
+		addIndexLong(index, unbox(item));
+	}
+
+	@Override
+	public Long getFront() {
+		return getFrontLong();
+	}
+
+	@Override
+	public Long getBack() {
+		return getBackLong();
+	}
+
+	@Override
+	public Long getIndex(int index) {
+		return getLong(index);
+	}
+
+	@Override
+	public void setIndex(int index, Long value) {
+		setLong(index, unbox(value));
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+}
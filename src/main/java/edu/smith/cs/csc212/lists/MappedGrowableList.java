@@ -0,0 +1,414 @@
+package edu.smith.cs.csc212.lists;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+/**
+ * A MappedGrowableList is a {@linkplain GrowableList} that lives in a file.
+ * Items are stored as fixed-width records by a {@linkplain RecordCodec}, in
+ * memory-mapped regions of the file, so the operating system pages them in
+ * and out and writes them back for us.
+ *
+ * The file starts with a small header that records how many items are in the
+ * list. Opening an existing file just maps it and reads the header, so a list
+ * of any size is ready to use right away.
+ *
+ * The file grows by doubling, like GrowableList. A single mapping can't be
+ * bigger than 2GB, so the records are mapped in segments of about 1GB each
+ * (a whole number of records, so none is split between two), and a position
+ * is turned into a segment and an offset within it. The file can hold as
+ * many records as a list can, Integer.MAX_VALUE; past that, adding throws
+ * {@linkplain RanOutOfSpaceError}.
+ *
+ * The count in the header is written after the records it covers, so if the
+ * program crashes, addBack, removeBack and setIndex leave either the old list
+ * or the new one in the file. Adding or removing anywhere else slides records
+ * over first, and a crash in the middle of that can leave a record lost or
+ * doubled. (After a power failure, only what {@linkplain #force()} has saved
+ * is safe.)
+ *
+ * Like {@linkplain OffHeapChunkyArrayList}, null can't be stored: adding or
+ * setting null throws IllegalArgumentException.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class MappedGrowableList<T> extends ListADT<T> implements Closeable {
+	/**
+	 * The first four bytes of every file we write: "LIST".
+	 */
+	static final int MAGIC = 0x4C495354;
+	/**
+	 * The header is the magic number, the record width, and the fill.
+	 */
+	static final int HEADER_BYTES = 16;
+	/**
+	 * Where in the header is the fill?
+	 */
+	private static final int FILL_OFFSET = 8;
+	/**
+	 * How many records should a new file have room for?
+	 * This is not private for use in tests.
+	 */
+	static final int START_SIZE = 10;
+	/**
+	 * About how many bytes of records are in each mapped segment.
+	 */
+	static final int SEGMENT_BYTES = 1 << 30;
+	/**
+	 * The open file.
+	 */
+	private final FileChannel channel;
+	/**
+	 * How do records turn into bytes and back?
+	 */
+	private final RecordCodec<T> codec;
+	/**
+	 * How many bytes is each record?
+	 */
+	private final int width;
+	/**
+	 * How many records are in each segment (the last one may be shorter)?
+	 */
+	private final int segmentRecords;
+	/**
+	 * The mapped header.
+	 */
+	private final MappedByteBuffer header;
+	/**
+	 * The mapped records, one segment each. Replaced when we grow.
+	 */
+	private MappedByteBuffer[] segments;
+	/**
+	 * How many records fit in the mapped part of the file?
+	 */
+	private int capacity;
+	/**
+	 * This is the number of records that are used. It is also in the header.
+	 */
+	private int fill;
+	/**
+	 * Used to slide records around.
+	 */
+	private final byte[] scratch;
+
+	/**
+	 * Open a list stored in a file, or start a new one if the file is empty
+	 * or doesn't exist yet.
+	 *
+	 * @param file - where to keep the list.
+	 * @param codec - how to store each item as bytes. Use the same one every time!
+	 * @throws IOException - if the file can't be opened, or holds something else.
+	 */
+	public MappedGrowableList(File file, RecordCodec<T> codec) throws IOException {
+		this(file, codec, Math.max(1, SEGMENT_BYTES / codec.width()));
+	}
+
+	/**
+	 * Open a list with a particular segment size. This is not private for use
+	 * in tests, which can't make files of many gigabytes.
+	 *
+	 * @param file - where to keep the list.
+	 * @param codec - how to store each item as bytes. Use the same one every time!
+	 * @param segmentRecords - how many records to map at a time.
+	 * @throws IOException - if the file can't be opened, or holds something else.
+	 */
+	@SuppressWarnings("resource")
+	MappedGrowableList(File file, RecordCodec<T> codec, int segmentRecords) throws IOException {
+		this.codec = codec;
+		this.width = codec.width();
+		this.segmentRecords = segmentRecords;
+		this.scratch = new byte[Math.max(RecordBuffers.SCRATCH_SIZE, width)];
+		this.segments = new MappedByteBuffer[0];
+		this.channel = new RandomAccessFile(file, "rw").getChannel();
+		try {
+			boolean empty = channel.size() == 0;
+			if (!empty && channel.size() < HEADER_BYTES) {
+				throw new IOException("Not a MappedGrowableList file: " + file);
+			}
+			this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+			if (empty) {
+				header.putInt(0, MAGIC);
+				header.putInt(4, width);
+				setFill(0);
+				mapRecords(START_SIZE);
+			} else {
+				if (header.getInt(0) != MAGIC) {
+					throw new IOException("Not a MappedGrowableList file: " + file);
+				}
+				if (header.getInt(4) != width) {
+					throw new IOException("Records in " + file + " are " + header.getInt(4) + " bytes, not " + width);
+				}
+				long records = Math.min(Integer.MAX_VALUE, (channel.size() - HEADER_BYTES) / width);
+				mapRecords((int) records);
+				long storedFill = header.getLong(FILL_OFFSET);
+				if (storedFill < 0 || storedFill > capacity) {
+					throw new IOException("Corrupt header in " + file);
+				}
+				this.fill = (int) storedFill;
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Map enough of the file to hold a number of records; the file grows if it
+	 * must. Segments that are already full-size are kept; the last one (if it
+	 * was short) and any new ones are mapped.
+	 * @param records - how many records to make room for.
+	 * @throws IOException - if the operating system won't map it.
+	 */
+	private void mapRecords(int records) throws IOException {
+		int count = (int) ((records + (long) segmentRecords - 1) / segmentRecords);
+		MappedByteBuffer[] mapped = Arrays.copyOf(segments, count);
+		int keep = capacity / segmentRecords;
+		for (int k = keep; k < count; k++) {
+			long first = (long) k * segmentRecords;
+			long length = Math.min(segmentRecords, records - first) * width;
+			mapped[k] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + first * width, length);
+		}
+		this.segments = mapped;
+		this.capacity = records;
+	}
+
+	/**
+	 * Change the fill, and write it to the header too.
+	 * @param fill - the new number of records.
+	 */
+	private void setFill(int fill) {
+		this.fill = fill;
+		this.header.putLong(FILL_OFFSET, fill);
+	}
+
+	/**
+	 * @param index - a position in the list.
+	 * @return the segment holding its record.
+	 */
+	private MappedByteBuffer segment(int index) {
+		return segments[index / segmentRecords];
+	}
+
+	/**
+	 * @param index - a position in the list.
+	 * @return the byte offset of its record in its segment.
+	 */
+	private int offset(int index) {
+		return (index % segmentRecords) * width;
+	}
+
+	/**
+	 * @param index - a position in the list.
+	 * @return the item stored there.
+	 */
+	private T read(int index) {
+		return codec.read(segment(index), offset(index));
+	}
+
+	/**
+	 * @param index - a position in the list.
+	 * @param item - the item to store there.
+	 */
+	private void write(int index, T item) {
+		codec.write(segment(index), offset(index), item);
+	}
+
+	/**
+	 * Slide a run of records; the two runs may overlap. They are copied in
+	 * pieces that don't cross the end of a segment on either side, and in
+	 * the order that doesn't copy over a piece before it has been moved.
+	 * @param from - the position of the first record to move.
+	 * @param to - where it should end up.
+	 * @param count - how many records to move.
+	 */
+	private void moveRecords(int from, int to, int count) {
+		if (count == 0 || from == to) {
+			return;
+		}
+		int perPiece = scratch.length / width;
+		int done = 0;
+		while (done < count) {
+			int n = Math.min(count - done, perPiece);
+			int source, target;
+			if (from > to) {
+				// moving toward the front: copy the front pieces first.
+				source = from + done;
+				target = to + done;
+				n = Math.min(n, segmentRecords - source % segmentRecords);
+				n = Math.min(n, segmentRecords - target % segmentRecords);
+			} else {
+				// moving toward the back: copy the back pieces first.
+				int end = count - done;
+				n = Math.min(n, (from + end - 1) % segmentRecords + 1);
+				n = Math.min(n, (to + end - 1) % segmentRecords + 1);
+				source = from + end - n;
+				target = to + end - n;
+			}
+			ByteBuffer in = segment(source).duplicate();
+			in.clear();
+			in.position(offset(source));
+			in.get(scratch, 0, n * width);
+			ByteBuffer out = segment(target).duplicate();
+			out.clear();
+			out.position(offset(target));
+			out.put(scratch, 0, n * width);
+			done += n;
+		}
+	}
+
+	/**
+	 * This private method is called when we need to make room in our list.
+	 * It maps twice as many records, which makes the file bigger.
+	 */
+	private void resizeArray() {
+		int bigger = (int) Math.min(Math.max(START_SIZE, (long) capacity * 2), Integer.MAX_VALUE);
+		if (bigger <= capacity) {
+			throw new RanOutOfSpaceError();
+		}
+		try {
+			mapRecords(bigger);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * This is not private for use in tests.
+	 * @return how many segments are mapped.
+	 */
+	int segmentCount() {
+		return segments.length;
+	}
+
+	/**
+	 * Make sure everything we have written is saved to the disk.
+	 */
+	public void force() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+		this.header.force();
+	}
+
+	/**
+	 * Crash before trying to store null, which a codec has no bytes for.
+	 * @param item - the item about to be stored.
+	 */
+	private static void checkNotNull(Object item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in a MappedGrowableList");
+		}
+	}
+
+	/**
+	 * Save everything and close the file. Don't use the list afterwards.
+	 * @throws IOException - if the file can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		force();
+		channel.close();
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		T removedItem = read(fill - 1);
+		setFill(fill - 1);
+		return removedItem;
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		// slide to the left
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		T removedItem = read(index);
+		moveRecords(index + 1, index, fill - index - 1);
+		setFill(fill - 1);
+		return removedItem;
+	}
+
+	@Override
+	public void addFront(T item) {
+		addIndex(0, item);
+	}
+
+	@Override
+	public void addBack(T item) {
+		checkNotNull(item);
+		if (fill >= capacity) {
+			resizeArray();
+		}
+		write(fill, item);
+		setFill(fill + 1);
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkNotNull(item);
+		// slide to the right
+		checkInclusiveIndex(index);
+		if (fill + 1 > capacity) {
+			resizeArray();
+		}
+		moveRecords(index, index + 1, fill - index);
+		write(index, item);
+		setFill(fill + 1);
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return read(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return read(fill - 1);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return read(index);
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotNull(value);
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		write(index, value);
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+}
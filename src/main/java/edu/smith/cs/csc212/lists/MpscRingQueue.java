@@ -0,0 +1,72 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Collection;
+
+/**
+ * A {@linkplain RingQueue} for any number of producer threads and one
+ * consumer thread.
+ *
+ * Producers race for slots by moving the tail forward with compareAndSet;
+ * whoever wins owns the slots it skipped over, and then stores its items in
+ * them with lazySet. In between, the tail is ahead of the items that are
+ * really there, so the consumer treats a null slot below the tail as "not
+ * yet" and waits for it to fill in, which only takes as long as one store.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this queue.
+ */
+public class MpscRingQueue<T> extends RingQueue<T> {
+
+	/**
+	 * Make an empty queue.
+	 * @param capacity - how many items it should hold, rounded up to a power of two.
+	 */
+	public MpscRingQueue(int capacity) {
+		super(capacity);
+	}
+
+	@Override
+	public boolean offer(T item) {
+		checkNotNull(item);
+		int capacity = capacity();
+		while (true) {
+			long tail = tail();
+			if (tail - head() >= capacity) {
+				return false;
+			}
+			if (casTail(tail, tail + 1)) {
+				buffer.lazySet((int) tail & mask, item);
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public int offerAll(Collection<? extends T> items) {
+		Object[] values = items.toArray();
+		for (Object value : values) {
+			checkNotNull(value);
+		}
+		if (values.length == 0) {
+			return 0;
+		}
+		int capacity = capacity();
+		long tail;
+		int count;
+		do {
+			tail = tail();
+			count = Math.min(values.length, (int) (capacity - (tail - head())));
+			if (count <= 0) {
+				return 0;
+			}
+		} while (!casTail(tail, tail + count));
+		// the slots in [tail, tail + count) are ours now.
+		for (int i = 0; i < count; i++) {
+			@SuppressWarnings("unchecked")
+			T item = (T) values[i];
+			buffer.lazySet((int) (tail + i) & mask, item);
+		}
+		return count;
+	}
+}
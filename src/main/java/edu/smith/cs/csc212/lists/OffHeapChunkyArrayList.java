@@ -0,0 +1,370 @@
+package edu.smith.cs.csc212.lists;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * This is a {@linkplain ChunkyArrayList} whose chunks live outside of the Java
+ * heap. Each chunk is a slice of a direct ByteBuffer, and items are stored in
+ * it as fixed-width records by a {@linkplain RecordCodec}. The garbage
+ * collector only sees one small object per chunk, no matter how many items
+ * there are.
+ *
+ * Chunks are cut out of bigger "slabs" of direct memory, and chunks that
+ * become empty are kept for reuse rather than handed back. The memory goes
+ * away when the list itself is garbage collected.
+ *
+ * Every get makes a new item with {@linkplain RecordCodec#read}, and null
+ * can't be stored: adding or setting null throws IllegalArgumentException.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class OffHeapChunkyArrayList<T> extends ListADT<T> {
+	/**
+	 * How many bytes of direct memory should we ask for at once?
+	 */
+	static final int SLAB_BYTES = 1 << 20;
+	/**
+	 * How many records fit in each chunk?
+	 */
+	private final int chunkSize;
+	/**
+	 * How do records turn into bytes and back?
+	 */
+	private final RecordCodec<T> codec;
+	/**
+	 * How many bytes is each record?
+	 */
+	private final int width;
+	/**
+	 * Where do the chunks go?
+	 */
+	private GrowableList<Chunk> chunks;
+	/**
+	 * How many items are in the chunks, so that we don't have to add them up.
+	 */
+	private int fill;
+	/**
+	 * Where does each position live? This is kept in sync with chunks.
+	 */
+	private ChunkSizeIndex sizeIndex;
+	/**
+	 * The slab we are currently cutting new chunks out of.
+	 */
+	private ByteBuffer slab;
+	/**
+	 * How many chunks have been cut out of the current slab?
+	 */
+	private int slabUsed;
+	/**
+	 * Chunk buffers that were emptied and can be used again.
+	 */
+	private GrowableList<ByteBuffer> freeBuffers;
+	/**
+	 * Used to move records around inside a chunk.
+	 */
+	private final byte[] scratch;
+
+	/**
+	 * Create an OffHeapChunkyArrayList.
+	 * @param chunkSize - how many items to store per chunk.
+	 * @param codec - how to store each item as bytes.
+	 */
+	public OffHeapChunkyArrayList(int chunkSize, RecordCodec<T> codec) {
+		if (chunkSize <= 0 || codec.width() <= 0) {
+			throw new IllegalArgumentException("chunkSize and codec width must be positive.");
+		}
+		this.chunkSize = chunkSize;
+		this.codec = codec;
+		this.width = codec.width();
+		this.chunks = new GrowableList<>();
+		this.fill = 0;
+		this.sizeIndex = new ChunkSizeIndex();
+		this.slab = null;
+		this.slabUsed = 0;
+		this.freeBuffers = new GrowableList<>();
+		this.scratch = new byte[Math.min(RecordBuffers.SCRATCH_SIZE, chunkSize * width)];
+	}
+
+	/**
+	 * Get an empty chunk, reusing an old buffer if we have one.
+	 * @return a new chunk.
+	 */
+	private Chunk makeChunk() {
+		if (!freeBuffers.isEmpty()) {
+			return new Chunk(freeBuffers.removeBack());
+		}
+		int chunkBytes = chunkSize * width;
+		int perSlab = Math.max(1, SLAB_BYTES / chunkBytes);
+		if (slab == null || slabUsed == perSlab) {
+			slab = ByteBuffer.allocateDirect(perSlab * chunkBytes);
+			slabUsed = 0;
+		}
+		ByteBuffer buffer = RecordBuffers.slice(slab, chunkBytes * slabUsed++, chunkBytes);
+		buffer.order(ByteOrder.nativeOrder());
+		return new Chunk(buffer);
+	}
+
+	/**
+	 * Put a new chunk into the list of chunks and keep the index in sync.
+	 * @param position - where the chunk should go.
+	 * @param chunk - the new chunk (which may already have items in it).
+	 */
+	private void insertChunk(int position, Chunk chunk) {
+		if (position == chunks.size()) {
+			chunks.addBack(chunk);
+			sizeIndex.append(chunk.fill);
+		} else {
+			chunks.addIndex(position, chunk);
+			sizeIndex.rebuild(chunks, c -> c.fill);
+		}
+	}
+
+	/**
+	 * Take a chunk out of the list of chunks, keep the index in sync, and
+	 * save its buffer for later.
+	 * @param position - which chunk to remove.
+	 */
+	private void removeChunk(int position) {
+		Chunk removed;
+		if (position == chunks.size() - 1) {
+			removed = chunks.removeBack();
+			sizeIndex.removeLast();
+		} else {
+			removed = chunks.removeIndex(position);
+			sizeIndex.rebuild(chunks, c -> c.fill);
+		}
+		freeBuffers.addBack(removed.buffer);
+	}
+
+	/**
+	 * Crash before trying to store null, which a codec has no bytes for.
+	 * @param item - the item about to be stored.
+	 */
+	private static void checkNotNull(Object item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in an OffHeapChunkyArrayList");
+		}
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		Chunk front = chunks.getFront();
+		T removedValue = front.remove(0);
+		if (front.fill == 0) {
+			removeChunk(0);
+		} else {
+			sizeIndex.add(0, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		Chunk back = chunks.getBack();
+		T removedValue = back.remove(back.fill - 1);
+		if (back.fill == 0) {
+			removeChunk(chunks.size() - 1);
+		} else {
+			sizeIndex.add(chunks.size() - 1, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+
+		int i = sizeIndex.findChunk(index);
+		Chunk chunk = chunks.getIndex(i);
+		T removedValue = chunk.remove(index - sizeIndex.prefix(i));
+		// Don't let there be any empty chunks in the middle.
+		if (chunk.fill == 0) {
+			removeChunk(i);
+		} else {
+			sizeIndex.add(i, -1);
+		}
+		fill--;
+		return removedValue;
+	}
+
+	@Override
+	public void addFront(T item) {
+		checkNotNull(item);
+		if (chunks.isEmpty() || chunks.getFront().isFull()) {
+			insertChunk(0, makeChunk());
+		}
+		chunks.getFront().insert(0, item);
+		sizeIndex.add(0, 1);
+		fill++;
+	}
+
+	@Override
+	public void addBack(T item) {
+		checkNotNull(item);
+		if (chunks.isEmpty() || chunks.getBack().isFull()) {
+			insertChunk(chunks.size(), makeChunk());
+		}
+		Chunk back = chunks.getBack();
+		back.insert(back.fill, item);
+		sizeIndex.add(chunks.size() - 1, 1);
+		fill++;
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkNotNull(item);
+		checkInclusiveIndex(index);
+		if (index == fill) {
+			addBack(item);
+			return;
+		}
+
+		int i = sizeIndex.findChunk(index);
+		Chunk chunk = chunks.getIndex(i);
+		int offset = index - sizeIndex.prefix(i);
+		if (!chunk.isFull()) {
+			chunk.insert(offset, item);
+			sizeIndex.add(i, 1);
+		} else if (i + 1 < chunks.size() && !chunks.getIndex(i + 1).isFull()) {
+			// push our last record over to the next chunk to make room.
+			chunks.getIndex(i + 1).insertRecordFrom(chunk, chunk.fill - 1);
+			chunk.fill--;
+			sizeIndex.add(i + 1, 1);
+			chunk.insert(offset, item);
+		} else {
+			// the neighbor is full too, so our last record gets a new chunk.
+			Chunk overflow = makeChunk();
+			overflow.insertRecordFrom(chunk, chunk.fill - 1);
+			chunk.fill--;
+			chunk.insert(offset, item);
+			insertChunk(i + 1, overflow);
+		}
+		fill++;
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return chunks.getFront().get(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		Chunk back = chunks.getBack();
+		return back.get(back.fill - 1);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		return chunks.getIndex(i).get(index - sizeIndex.prefix(i));
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotNull(value);
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int i = sizeIndex.findChunk(index);
+		Chunk chunk = chunks.getIndex(i);
+		codec.write(chunk.buffer, (index - sizeIndex.prefix(i)) * width, value);
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+	/**
+	 * A chunk is a buffer with room for chunkSize records, packed at the front.
+	 * Not static, because it uses the codec and scratch space of its list.
+	 */
+	private class Chunk {
+		/**
+		 * The records, in order, starting at byte zero.
+		 */
+		final ByteBuffer buffer;
+		/**
+		 * How many records are in use?
+		 */
+		int fill;
+
+		/**
+		 * Create an empty chunk.
+		 * @param buffer - where to store its records.
+		 */
+		Chunk(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.fill = 0;
+		}
+
+		/**
+		 * @return true if there is no room for another record.
+		 */
+		boolean isFull() {
+			return fill == chunkSize;
+		}
+
+		/**
+		 * @param position - which record, from zero.
+		 * @return the item stored there.
+		 */
+		T get(int position) {
+			return codec.read(buffer, position * width);
+		}
+
+		/**
+		 * Slide records over and store a new one.
+		 * @param position - where it goes.
+		 * @param item - the item to store.
+		 */
+		void insert(int position, T item) {
+			RecordBuffers.move(buffer, position * width, (position + 1) * width, (fill - position) * width, scratch);
+			codec.write(buffer, position * width, item);
+			fill++;
+		}
+
+		/**
+		 * Copy the bytes of a record from another chunk onto our front,
+		 * without decoding it.
+		 * @param other - the chunk to copy from (which is not changed).
+		 * @param position - which record of other to copy.
+		 */
+		void insertRecordFrom(Chunk other, int position) {
+			RecordBuffers.move(buffer, 0, width, fill * width, scratch);
+			for (int b = 0; b < width; b++) {
+				buffer.put(b, other.buffer.get(position * width + b));
+			}
+			fill++;
+		}
+
+		/**
+		 * Take out a record and slide the rest over.
+		 * @param position - which record.
+		 * @return the item that was stored there.
+		 */
+		T remove(int position) {
+			T removed = get(position);
+			RecordBuffers.move(buffer, (position + 1) * width, position * width, (fill - position - 1) * width, scratch);
+			fill--;
+			return removed;
+		}
+	}
+}
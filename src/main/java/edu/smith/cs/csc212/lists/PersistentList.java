@@ -0,0 +1,622 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+
+/**
+ * A PersistentList never changes. Instead of setIndex and addBack, it has
+ * {@linkplain #withIndex} and {@linkplain #withBack}, which return a new list
+ * and leave this one alone. The new list shares almost all of its memory with
+ * the old one, so making a new version is O(log n), not a copy of everything.
+ * That makes it safe (and cheap) to hand a list to readers while a writer
+ * keeps making new versions.
+ *
+ * Inside, it is a tree where every node has 32 children, like Clojure's
+ * vector. The items are in the leaves, in order, and changing one just copies
+ * the nodes on the path down to it: at most 7 arrays of 32 for a list of a
+ * billion items. The last (up to) 32 items are kept in a "tail" array outside
+ * of the tree, so adding to the back is usually just copying the tail.
+ *
+ * To build a big list quickly, use a {@linkplain Builder}, which changes its
+ * own nodes in place instead of copying them.
+ *
+ * The ListADT methods that would change the list (addBack, setIndex, and so
+ * on) throw UnsupportedOperationException.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class PersistentList<T> extends ListADT<T> {
+	/**
+	 * How many bits of the index does each level of the tree use?
+	 */
+	private static final int BITS = 5;
+	/**
+	 * How many children does each node have?
+	 */
+	private static final int WIDTH = 1 << BITS;
+	/**
+	 * Which bits of the index pick a child?
+	 */
+	private static final int MASK = WIDTH - 1;
+	/**
+	 * The tree of an empty list. It is never changed, so everyone can share it.
+	 */
+	private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+	/**
+	 * The empty list. It is never changed, so everyone can share it.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final PersistentList EMPTY = new PersistentList<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+	/**
+	 * How many items are in this list?
+	 */
+	private final int count;
+	/**
+	 * How many bits to shift an index by to find the child of the root.
+	 */
+	private final int shift;
+	/**
+	 * The tree holding every item before the tail.
+	 */
+	private final Node root;
+	/**
+	 * The last items, exactly as many as there are.
+	 */
+	private final Object[] tail;
+
+	/**
+	 * Only used by the methods that make new versions.
+	 * @param count - how many items.
+	 * @param shift - how tall the tree is.
+	 * @param root - the tree.
+	 * @param tail - the last items.
+	 */
+	private PersistentList(int count, int shift, Node root, Object[] tail) {
+		this.count = count;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	/**
+	 * @param <T> - the type of item to be stored.
+	 * @return the empty list.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentList<T> empty() {
+		return (PersistentList<T>) EMPTY;
+	}
+
+	/**
+	 * @param <T> - the type of item to be stored.
+	 * @return a builder for a new list, starting empty.
+	 */
+	public static <T> Builder<T> builder() {
+		return new Builder<>(PersistentList.<T>empty());
+	}
+
+	/**
+	 * @return a builder that starts with the items of this list (which is not changed).
+	 */
+	public Builder<T> toBuilder() {
+		return new Builder<>(this);
+	}
+
+	/**
+	 * @param count - how many items are in a list.
+	 * @return the position of the first item in its tail.
+	 */
+	private static int tailOffset(int count) {
+		return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+	}
+
+	/**
+	 * Find the leaf (or the tail) that holds a position. The caller checks the index.
+	 * @param index - a position in the list.
+	 * @return the array that has it at [index &amp; MASK].
+	 */
+	private Object[] arrayFor(int index) {
+		if (index >= tailOffset(count)) {
+			return tail;
+		}
+		Node node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Node) node.array[(index >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	/**
+	 * Make a version of this list with one item changed.
+	 * @param index - which position to change.
+	 * @param value - the new item there.
+	 * @return the new list; this one is not changed.
+	 */
+	public PersistentList<T> withIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		if (index >= tailOffset(count)) {
+			Object[] newTail = tail.clone();
+			newTail[index & MASK] = value;
+			return new PersistentList<>(count, shift, root, newTail);
+		}
+		return new PersistentList<>(count, shift, assoc(shift, root, index, value), tail);
+	}
+
+	/**
+	 * Copy the path down to a position, with a new item at the bottom.
+	 * @param level - the shift of node.
+	 * @param node - the node to copy.
+	 * @param index - the position to change.
+	 * @param value - the new item.
+	 * @return the copy.
+	 */
+	private static Node assoc(int level, Node node, int index, Object value) {
+		Node copy = new Node(null, node.array.clone());
+		if (level == 0) {
+			copy.array[index & MASK] = value;
+		} else {
+			int child = (index >>> level) & MASK;
+			copy.array[child] = assoc(level - BITS, (Node) node.array[child], index, value);
+		}
+		return copy;
+	}
+
+	/**
+	 * Make a version of this list with one more item on the back.
+	 * @param value - the new item.
+	 * @return the new list; this one is not changed.
+	 */
+	public PersistentList<T> withBack(T value) {
+		// room in the tail?
+		if (count - tailOffset(count) < WIDTH) {
+			Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+			newTail[tail.length] = value;
+			return new PersistentList<>(count + 1, shift, root, newTail);
+		}
+		// the full tail goes into the tree, and the new item starts a new tail.
+		Node tailNode = new Node(null, tail);
+		Node newRoot;
+		int newShift = shift;
+		if ((count >>> BITS) > (1 << shift)) {
+			// the tree is full, so it gets taller.
+			newRoot = new Node(null, new Object[WIDTH]);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(null, shift, tailNode);
+			newShift += BITS;
+		} else {
+			newRoot = pushTail(null, count, shift, root, tailNode);
+		}
+		return new PersistentList<>(count + 1, newShift, newRoot, new Object[] { value });
+	}
+
+	/**
+	 * Put a full tail into the tree as its last leaf.
+	 * @param edit - the builder that may change nodes in place, or null to copy every node.
+	 * @param count - how many items there are, counting the tail.
+	 * @param level - the shift of parent.
+	 * @param parent - the node to put it under.
+	 * @param tailNode - the leaf to add.
+	 * @return parent, or a copy of it, with the leaf in it.
+	 */
+	private static Node pushTail(Object edit, int count, int level, Node parent, Node tailNode) {
+		int child = ((count - 1) >>> level) & MASK;
+		Node result = editable(edit, parent);
+		Node toInsert;
+		if (level == BITS) {
+			toInsert = tailNode;
+		} else {
+			Node existing = (Node) parent.array[child];
+			toInsert = (existing != null) ? pushTail(edit, count, level - BITS, existing, tailNode)
+					: newPath(edit, level - BITS, tailNode);
+		}
+		result.array[child] = toInsert;
+		return result;
+	}
+
+	/**
+	 * Make a chain of new nodes, each one the first child of the last, down to a leaf.
+	 * @param edit - the builder that owns the new nodes, or null.
+	 * @param level - how far down the leaf is.
+	 * @param leaf - the node at the bottom.
+	 * @return the top of the chain.
+	 */
+	private static Node newPath(Object edit, int level, Node leaf) {
+		if (level == 0) {
+			return leaf;
+		}
+		Node result = new Node(edit, new Object[WIDTH]);
+		result.array[0] = newPath(edit, level - BITS, leaf);
+		return result;
+	}
+
+	/**
+	 * @param edit - the builder that wants to change a node, or null.
+	 * @param node - the node.
+	 * @return node, if the builder owns it; otherwise a copy that it does own.
+	 */
+	private static Node editable(Object edit, Node node) {
+		if (edit != null && node.edit == edit) {
+			return node;
+		}
+		return new Node(edit, node.array.clone());
+	}
+
+	/**
+	 * Make a version of this list without its last item.
+	 * @return the new list; this one is not changed.
+	 */
+	public PersistentList<T> withoutBack() {
+		checkNotEmpty();
+		if (count == 1) {
+			return empty();
+		}
+		if (count - tailOffset(count) > 1) {
+			return new PersistentList<>(count - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+		}
+		// the tail is used up, so the last leaf of the tree becomes the tail.
+		Object[] newTail = arrayFor(count - 2);
+		Node newRoot = popTail(shift, root);
+		int newShift = shift;
+		if (newRoot == null) {
+			newRoot = EMPTY_NODE;
+		}
+		if (shift > BITS && newRoot.array[1] == null) {
+			// the root has only one child, so the tree gets shorter.
+			newRoot = (Node) newRoot.array[0];
+			newShift -= BITS;
+		}
+		return new PersistentList<>(count - 1, newShift, newRoot, newTail);
+	}
+
+	/**
+	 * Copy the path down to the last leaf, without that leaf.
+	 * @param level - the shift of node.
+	 * @param node - the node to copy.
+	 * @return the copy, or null if it would have no children.
+	 */
+	private Node popTail(int level, Node node) {
+		int child = ((count - 2) >>> level) & MASK;
+		if (level > BITS) {
+			Node newChild = popTail(level - BITS, (Node) node.array[child]);
+			if (newChild == null && child == 0) {
+				return null;
+			}
+			Node copy = new Node(null, node.array.clone());
+			copy.array[child] = newChild;
+			return copy;
+		} else if (child == 0) {
+			return null;
+		} else {
+			Node copy = new Node(null, node.array.clone());
+			copy.array[child] = null;
+			return copy;
+		}
+	}
+
+	/**
+	 * Make a version of this list with a new item in the middle. Every item
+	 * after index moves over, so unlike the other versions this one is O(n):
+	 * it is built from scratch with a {@linkplain Builder}.
+	 * @param index - where the new item goes.
+	 * @param value - the new item.
+	 * @return the new list; this one is not changed.
+	 */
+	public PersistentList<T> withInsert(int index, T value) {
+		checkInclusiveIndex(index);
+		if (index == count) {
+			return withBack(value);
+		}
+		Builder<T> result = builder();
+		int position = 0;
+		for (T item : this) {
+			if (position++ == index) {
+				result.addBack(value);
+			}
+			result.addBack(item);
+		}
+		return result.build();
+	}
+
+	/**
+	 * Make a version of this list without one item. Every item after index
+	 * moves over, so this is O(n), like {@linkplain #withInsert}, except at
+	 * the back.
+	 * @param index - which item to leave out.
+	 * @return the new list; this one is not changed.
+	 */
+	public PersistentList<T> withoutIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		if (index == count - 1) {
+			return withoutBack();
+		}
+		Builder<T> result = builder();
+		int position = 0;
+		for (T item : this) {
+			if (position++ != index) {
+				result.addBack(item);
+			}
+		}
+		return result.build();
+	}
+
+	@Override
+	public T removeFront() {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withoutIndex.");
+	}
+
+	@Override
+	public T removeBack() {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withoutBack.");
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withoutIndex.");
+	}
+
+	@Override
+	public void addFront(T item) {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withInsert.");
+	}
+
+	@Override
+	public void addBack(T item) {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withBack.");
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withInsert.");
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		throw new UnsupportedOperationException("PersistentList can't be changed; use withIndex.");
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return getIndex(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return getIndex(count - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return (T) arrayFor(index)[index & MASK];
+	}
+
+	@Override
+	public int size() {
+		return this.count;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.count == 0;
+	}
+
+	/**
+	 * Loop over this list one leaf at a time, rather than with getIndex.
+	 * Since the list never changes, this never notices changes either.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int index = 0;
+			private Object[] leaf = null;
+
+			@Override
+			public boolean hasNext() {
+				return index < count;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public T next() {
+				if (index >= count) {
+					throw new NoSuchElementException();
+				}
+				if ((index & MASK) == 0 || leaf == null) {
+					leaf = arrayFor(index);
+				}
+				return (T) leaf[index++ & MASK];
+			}
+		};
+	}
+
+	/**
+	 * A Builder is a PersistentList that can be changed in place, for making a
+	 * big list quickly. Nodes that it makes are marked as its own, so it
+	 * changes them instead of copying them; nodes that it shares with a
+	 * PersistentList are copied the first time it changes them, like usual.
+	 *
+	 * {@linkplain #build()} hands out a PersistentList without copying
+	 * anything, and after that the builder treats all of its nodes as shared,
+	 * so it can keep going without changing the list it handed out.
+	 *
+	 * @param <T> - the type of item stored in the list.
+	 */
+	public static final class Builder<T> {
+		/**
+		 * Marks the nodes this builder may change. Replaced by build().
+		 */
+		private Object edit;
+		/**
+		 * How many items are in the list?
+		 */
+		private int count;
+		/**
+		 * How many bits to shift an index by to find the child of the root.
+		 */
+		private int shift;
+		/**
+		 * The tree holding every item before the tail.
+		 */
+		private Node root;
+		/**
+		 * The last items, in an array with room for a whole leaf.
+		 */
+		private Object[] tail;
+
+		/**
+		 * Start a builder with the items of a list.
+		 * @param list - the starting items; it is not changed.
+		 */
+		private Builder(PersistentList<T> list) {
+			this.edit = new Object();
+			this.count = list.count;
+			this.shift = list.shift;
+			this.root = list.root;
+			this.tail = Arrays.copyOf(list.tail, WIDTH);
+		}
+
+		/**
+		 * Add an item to the back.
+		 * @param value - the new item.
+		 * @return this builder, so that adds can be chained.
+		 */
+		public Builder<T> addBack(T value) {
+			if (count - tailOffset(count) < WIDTH) {
+				tail[count & MASK] = value;
+				count++;
+				return this;
+			}
+			Node tailNode = new Node(edit, tail);
+			tail = new Object[WIDTH];
+			tail[0] = value;
+			if ((count >>> BITS) > (1 << shift)) {
+				Node newRoot = new Node(edit, new Object[WIDTH]);
+				newRoot.array[0] = root;
+				newRoot.array[1] = newPath(edit, shift, tailNode);
+				root = newRoot;
+				shift += BITS;
+			} else {
+				root = pushTail(edit, count, shift, root, tailNode);
+			}
+			count++;
+			return this;
+		}
+
+		/**
+		 * Change an item.
+		 * @param index - which position to change.
+		 * @param value - the new item there.
+		 * @return this builder, so that changes can be chained.
+		 */
+		public Builder<T> setIndex(int index, T value) {
+			checkIndex(index);
+			if (index >= tailOffset(count)) {
+				tail[index & MASK] = value;
+			} else {
+				root = assoc(shift, root, index, value);
+			}
+			return this;
+		}
+
+		/**
+		 * Change an item in place, copying only the nodes we don't own.
+		 * @param level - the shift of node.
+		 * @param node - the node to change.
+		 * @param index - the position to change.
+		 * @param value - the new item.
+		 * @return node, or the copy of it that was changed.
+		 */
+		private Node assoc(int level, Node node, int index, Object value) {
+			Node result = editable(edit, node);
+			if (level == 0) {
+				result.array[index & MASK] = value;
+			} else {
+				int child = (index >>> level) & MASK;
+				result.array[child] = assoc(level - BITS, (Node) node.array[child], index, value);
+			}
+			return result;
+		}
+
+		/**
+		 * @param index - a position in the list.
+		 * @return the item there.
+		 */
+		@SuppressWarnings("unchecked")
+		public T getIndex(int index) {
+			checkIndex(index);
+			if (index >= tailOffset(count)) {
+				return (T) tail[index & MASK];
+			}
+			Node node = root;
+			for (int level = shift; level > 0; level -= BITS) {
+				node = (Node) node.array[(index >>> level) & MASK];
+			}
+			return (T) node.array[index & MASK];
+		}
+
+		/**
+		 * Crash if an index isn't in the list.
+		 * @param index - a position that should be in [0, size).
+		 */
+		private void checkIndex(int index) {
+			if (index < 0 || index >= count) {
+				throw new BadIndexError(index);
+			}
+		}
+
+		/**
+		 * @return how many items have been added.
+		 */
+		public int size() {
+			return count;
+		}
+
+		/**
+		 * @return a PersistentList with the items added so far.
+		 */
+		public PersistentList<T> build() {
+			PersistentList<T> result = new PersistentList<>(count, shift, root,
+					Arrays.copyOf(tail, count - tailOffset(count)));
+			// the list now shares our nodes, so we can't change them anymore.
+			this.edit = new Object();
+			return result;
+		}
+	}
+
+	/**
+	 * A node of the tree: 32 children, or 32 items for a leaf.
+	 */
+	private static final class Node {
+		/**
+		 * The builder allowed to change this node in place, or null if nobody is.
+		 */
+		final Object edit;
+		/**
+		 * The children or items.
+		 */
+		final Object[] array;
+
+		/**
+		 * Create a node.
+		 * @param edit - the builder that owns it, or null.
+		 * @param array - its children or items.
+		 */
+		Node(Object edit, Object[] array) {
+			this.edit = edit;
+			this.array = array;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package edu.smith.cs.csc212.lists;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for lists that keep fixed-width records in a ByteBuffer, like
+ * {@linkplain OffHeapChunkyArrayList}. ByteBuffer (before Java 13) has no
+ * absolute bulk copy, and no copy within one buffer at all, so records are
+ * moved through a small scratch array instead.
+ * 
+ * @author jfoley
+ *
+ */
+final class RecordBuffers {
+	/**
+	 * How big a scratch array should a list keep around for moving records?
+	 */
+	static final int SCRATCH_SIZE = 8192;
+
+	/**
+	 * This class only has static methods.
+	 */
+	private RecordBuffers() {
+	}
+
+	/**
+	 * Move a run of bytes within a buffer; the two runs may overlap.
+	 * 
+	 * @param buffer - the buffer; its position and limit are not changed.
+	 * @param from - the byte offset of the run to move.
+	 * @param to - the byte offset where the run should end up.
+	 * @param length - how many bytes to move.
+	 * @param scratch - a temporary array to copy through.
+	 */
+	static void move(ByteBuffer buffer, int from, int to, int length, byte[] scratch) {
+		if (length == 0 || from == to) {
+			return;
+		}
+		ByteBuffer view = buffer.duplicate();
+		view.clear();
+		if (from > to) {
+			// moving toward the front: copy the front pieces first.
+			int done = 0;
+			while (done < length) {
+				int n = Math.min(length - done, scratch.length);
+				view.position(from + done);
+				view.get(scratch, 0, n);
+				view.position(to + done);
+				view.put(scratch, 0, n);
+				done += n;
+			}
+		} else {
+			// moving toward the back: copy the back pieces first.
+			int remaining = length;
+			while (remaining > 0) {
+				int n = Math.min(remaining, scratch.length);
+				remaining -= n;
+				view.position(from + remaining);
+				view.get(scratch, 0, n);
+				view.position(to + remaining);
+				view.put(scratch, 0, n);
+			}
+		}
+	}
+
+	/**
+	 * Cut a piece out of a buffer, as its own buffer starting at zero.
+	 * 
+	 * @param buffer - the big buffer; its position and limit are not changed.
+	 * @param offset - the byte offset of the piece.
+	 * @param length - how many bytes are in the piece.
+	 * @return a buffer that shares those bytes.
+	 */
+	static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.clear();
+		view.position(offset);
+		view.limit(offset + length);
+		return view.slice();
+	}
+}
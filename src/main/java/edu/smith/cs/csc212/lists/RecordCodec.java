@@ -0,0 +1,98 @@
+package edu.smith.cs.csc212.lists;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A RecordCodec says how to store an item as a fixed number of bytes, so that
+ * lists like {@linkplain OffHeapChunkyArrayList} can keep their items in a
+ * ByteBuffer instead of as objects on the Java heap.
+ * 
+ * Every read and write uses an absolute offset, and must not touch the
+ * position or limit of the buffer.
+ * 
+ * @author jfoley
+ *
+ * @param <T> - the type of item this codec can store.
+ */
+public interface RecordCodec<T> {
+	/**
+	 * @return how many bytes every item takes up.
+	 */
+	int width();
+
+	/**
+	 * Store an item.
+	 * @param buffer - where to put it.
+	 * @param offset - the byte offset of the record in buffer.
+	 * @param item - the item to store.
+	 */
+	void write(ByteBuffer buffer, int offset, T item);
+
+	/**
+	 * Load an item.
+	 * @param buffer - where it lives.
+	 * @param offset - the byte offset of the record in buffer.
+	 * @return a new copy of the item.
+	 */
+	T read(ByteBuffer buffer, int offset);
+
+	/**
+	 * Stores an Integer in 4 bytes.
+	 */
+	RecordCodec<Integer> INT = new RecordCodec<Integer>() {
+		@Override
+		public int width() {
+			return Integer.BYTES;
+		}
+
+		@Override
+		public void write(ByteBuffer buffer, int offset, Integer item) {
+			buffer.putInt(offset, item);
+		}
+
+		@Override
+		public Integer read(ByteBuffer buffer, int offset) {
+			return buffer.getInt(offset);
+		}
+	};
+
+	/**
+	 * Stores a Long in 8 bytes.
+	 */
+	RecordCodec<Long> LONG = new RecordCodec<Long>() {
+		@Override
+		public int width() {
+			return Long.BYTES;
+		}
+
+		@Override
+		public void write(ByteBuffer buffer, int offset, Long item) {
+			buffer.putLong(offset, item);
+		}
+
+		@Override
+		public Long read(ByteBuffer buffer, int offset) {
+			return buffer.getLong(offset);
+		}
+	};
+
+	/**
+	 * Stores a Double in 8 bytes.
+	 */
+	RecordCodec<Double> DOUBLE = new RecordCodec<Double>() {
+		@Override
+		public int width() {
+			return Double.BYTES;
+		}
+
+		@Override
+		public void write(ByteBuffer buffer, int offset, Double item) {
+			buffer.putDouble(offset, item);
+		}
+
+		@Override
+		public Double read(ByteBuffer buffer, int offset) {
+			return buffer.getDouble(offset);
+		}
+	};
+}
@@ -0,0 +1,410 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.EmptyListError;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+/**
+ * A RingQueue is a {@linkplain FixedSizeList} used only as a queue, between
+ * threads, without any locks: one consumer thread takes items off the front,
+ * and producer threads put them on the back. See {@linkplain SpscRingQueue}
+ * for one producer and {@linkplain MpscRingQueue} for many.
+ *
+ * Like FixedSizeList, the items are in a circular buffer. Instead of start and
+ * fill, there are two counters that only ever go up: head, the number of items
+ * ever taken out, and tail, the number ever put in. Item number i lives in
+ * slot (i % capacity), and because the capacity is a power of two that is
+ * just (i &amp; mask). Only the consumer changes head, so it doesn't need a
+ * lock; it publishes a new head with lazySet, which is cheaper than a volatile
+ * write and still makes sure the producers see the slot emptied first.
+ *
+ * head and tail are changed by different threads all the time, so they are
+ * padded out to their own cache lines; otherwise every write to one would
+ * slow down the thread reading the other ("false sharing"). Java 8 can't
+ * say where fields go, but the JVM puts a superclass's fields before its
+ * subclass's, so the padding is done with a chain of small classes below.
+ *
+ * offer, offerAll and addBack may be called from producer threads; every
+ * other method must only be called from the one consumer thread (size and
+ * isEmpty are safe anywhere, but only a snapshot). Null items aren't
+ * allowed, since an empty slot is null.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this queue.
+ */
+public abstract class RingQueue<T> extends RingQueuePadEnd<T> {
+	/**
+	 * The items; slots that are empty are null.
+	 */
+	final AtomicReferenceArray<T> buffer;
+	/**
+	 * The capacity minus one, to turn a counter into a slot.
+	 */
+	final int mask;
+
+	/**
+	 * Make an empty queue.
+	 * @param capacity - how many items it should hold, rounded up to a power of two.
+	 */
+	RingQueue(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("capacity must be in [1, 2^30]: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.buffer = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Put an item on the back, if there's room. Safe to call from a producer thread.
+	 * @param item - the item to add; not null.
+	 * @return false if the queue was full.
+	 */
+	public abstract boolean offer(T item);
+
+	/**
+	 * Put as many items on the back as there's room for, in order, as one
+	 * batch. Safe to call from a producer thread.
+	 * @param items - the items to add; none of them null.
+	 * @return how many were added, from the front of items.
+	 */
+	public abstract int offerAll(Collection<? extends T> items);
+
+	/**
+	 * Crash if a producer tries to add null.
+	 * @param item - the item about to be added.
+	 */
+	static void checkNotNull(Object item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null items are not allowed in a RingQueue");
+		}
+	}
+
+	/**
+	 * Read the item that goes with a counter. With many producers, the slot
+	 * may have been claimed but not filled in yet, so wait for it.
+	 * @param sequence - the counter of an item that has been put in.
+	 * @return that item.
+	 */
+	private T itemAt(long sequence) {
+		int slot = (int) sequence & mask;
+		T item = buffer.get(slot);
+		while (item == null) {
+			item = buffer.get(slot);
+		}
+		return item;
+	}
+
+	/**
+	 * How far the tail is, as far as the consumer knows, refreshing what it
+	 * knows only if it has to.
+	 * @param head - the consumer's head.
+	 * @return the tail; if it equals head, the queue is empty.
+	 */
+	private long knownTail(long head) {
+		if (head >= tailCache) {
+			tailCache = tail();
+		}
+		return tailCache;
+	}
+
+	/**
+	 * Take the item off the front.
+	 * @return the item that was first, or null if the queue is empty.
+	 */
+	public T poll() {
+		long head = head();
+		if (head >= knownTail(head)) {
+			return null;
+		}
+		T item = itemAt(head);
+		buffer.lazySet((int) head & mask, null);
+		lazySetHead(head + 1);
+		return item;
+	}
+
+	/**
+	 * Look at the item on the front without taking it.
+	 * @return the item that is first, or null if the queue is empty.
+	 */
+	public T peek() {
+		long head = head();
+		if (head >= knownTail(head)) {
+			return null;
+		}
+		return itemAt(head);
+	}
+
+	/**
+	 * Take up to limit items off the front as one batch, moving the head only
+	 * once at the end.
+	 * @param sink - where to put them, in order.
+	 * @param limit - the most to take; not negative.
+	 * @return how many were taken.
+	 */
+	public int drainTo(Collection<? super T> sink, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("limit must not be negative: " + limit);
+		}
+		long head = head();
+		long available = tail() - head;
+		int count = (int) Math.min(available, limit);
+		for (int i = 0; i < count; i++) {
+			long sequence = head + i;
+			sink.add(itemAt(sequence));
+			buffer.lazySet((int) sequence & mask, null);
+		}
+		if (count > 0) {
+			lazySetHead(head + count);
+		}
+		return count;
+	}
+
+	/**
+	 * Take every item off the front as one batch.
+	 * @param sink - where to put them, in order.
+	 * @return how many were taken.
+	 */
+	public int drainTo(Collection<? super T> sink) {
+		return drainTo(sink, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return how many items fit, which is a power of two.
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * @return true if there's no room for another item.
+	 */
+	public boolean isFull() {
+		return size() == capacity();
+	}
+
+	/**
+	 * Like FixedSizeList, crash when there isn't room.
+	 */
+	@Override
+	public void addBack(T item) {
+		if (!offer(item)) {
+			throw new RanOutOfSpaceError();
+		}
+	}
+
+	@Override
+	public T removeFront() {
+		T item = poll();
+		if (item == null) {
+			throw new EmptyListError();
+		}
+		return item;
+	}
+
+	@Override
+	public T getFront() {
+		T item = peek();
+		if (item == null) {
+			throw new EmptyListError();
+		}
+		return item;
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return getIndex(size() - 1);
+	}
+
+	/**
+	 * Look at an item without taking anything off. Only the consumer thread
+	 * may do this, since it is the only one that knows nothing will be taken.
+	 */
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return itemAt(head() + index);
+	}
+
+	/**
+	 * While other threads are adding and removing, this is only a snapshot.
+	 */
+	@Override
+	public int size() {
+		// read head on both sides of tail, so that we don't catch head moving past an old tail.
+		while (true) {
+			long before = head();
+			long tail = tail();
+			long after = head();
+			if (before == after) {
+				return (int) (tail - after);
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head() == tail();
+	}
+
+	/**
+	 * A queue only adds to the back.
+	 */
+	@Override
+	public void addFront(T item) {
+		throw new UnsupportedOperationException("A RingQueue only adds to the back.");
+	}
+
+	/**
+	 * A queue only adds to the back.
+	 */
+	@Override
+	public void addIndex(int index, T item) {
+		throw new UnsupportedOperationException("A RingQueue only adds to the back.");
+	}
+
+	/**
+	 * A queue only removes from the front.
+	 */
+	@Override
+	public T removeBack() {
+		throw new UnsupportedOperationException("A RingQueue only removes from the front.");
+	}
+
+	/**
+	 * A queue only removes from the front.
+	 */
+	@Override
+	public T removeIndex(int index) {
+		throw new UnsupportedOperationException("A RingQueue only removes from the front.");
+	}
+
+	/**
+	 * Items in a queue can't be changed.
+	 */
+	@Override
+	public void setIndex(int index, T value) {
+		throw new UnsupportedOperationException("Items in a RingQueue can't be changed.");
+	}
+}
+
+/**
+ * Padding, so that head doesn't share a cache line with what comes before it.
+ */
+abstract class RingQueuePadHead<T> extends ListADT<T> {
+	/**
+	 * Never used; they only take up space.
+	 */
+	long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The consumer's counter, and what it last knew of the tail.
+ */
+abstract class RingQueueHead<T> extends RingQueuePadHead<T> {
+	/**
+	 * Sets head with lazySet.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<RingQueueHead> HEAD = AtomicLongFieldUpdater
+			.newUpdater(RingQueueHead.class, "head");
+	/**
+	 * How many items have ever been taken out. Only the consumer changes this.
+	 */
+	private volatile long head;
+	/**
+	 * The tail as of the last time the consumer looked; only the consumer uses this.
+	 */
+	long tailCache;
+
+	/**
+	 * @return how many items have ever been taken out.
+	 */
+	final long head() {
+		return head;
+	}
+
+	/**
+	 * Publish a new head, without waiting for it to be seen.
+	 * @param value - the new head.
+	 */
+	final void lazySetHead(long value) {
+		HEAD.lazySet(this, value);
+	}
+}
+
+/**
+ * Padding, so that head and tail are on different cache lines.
+ */
+abstract class RingQueuePadTail<T> extends RingQueueHead<T> {
+	/**
+	 * Never used; they only take up space.
+	 */
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+/**
+ * The producers' counter, and what a single producer last knew of the head.
+ */
+abstract class RingQueueTail<T> extends RingQueuePadTail<T> {
+	/**
+	 * Sets tail with lazySet or compareAndSet.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<RingQueueTail> TAIL = AtomicLongFieldUpdater
+			.newUpdater(RingQueueTail.class, "tail");
+	/**
+	 * How many items have ever been put in (or, with many producers, had a
+	 * slot claimed for them).
+	 */
+	private volatile long tail;
+	/**
+	 * The head as of the last time a single producer looked.
+	 */
+	long headCache;
+
+	/**
+	 * @return how many items have ever been put in.
+	 */
+	final long tail() {
+		return tail;
+	}
+
+	/**
+	 * Publish a new tail, without waiting for it to be seen.
+	 * @param value - the new tail.
+	 */
+	final void lazySetTail(long value) {
+		TAIL.lazySet(this, value);
+	}
+
+	/**
+	 * Claim slots for some producer, if no other producer got there first.
+	 * @param expected - the tail this producer saw.
+	 * @param value - the tail after its items.
+	 * @return true if the slots are this producer's.
+	 */
+	final boolean casTail(long expected, long value) {
+		return TAIL.compareAndSet(this, expected, value);
+	}
+}
+
+/**
+ * Padding, so that tail doesn't share a cache line with what comes after it.
+ */
+abstract class RingQueuePadEnd<T> extends RingQueueTail<T> {
+	/**
+	 * Never used; they only take up space.
+	 */
+	long p20, p21, p22, p23, p24, p25, p26, p27;
+}
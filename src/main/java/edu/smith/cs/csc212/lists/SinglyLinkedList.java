@@ -1,5 +1,11 @@
 package edu.smith.cs.csc212.lists;
 
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
 import me.jjfoley.adt.ListADT;
 import me.jjfoley.adt.errors.BadIndexError;
 
@@ -7,6 +13,10 @@ import me.jjfoley.adt.errors.BadIndexError;
  * A Singly-Linked List is a list that has only knowledge of its very first
  * element. Elements after that are chained, ending with a null node.
  * 
+ * We also remember the last node and how many nodes there are, so that
+ * addBack, getBack and size are O(1). removeBack still has to walk, because
+ * the last node doesn't know who comes before it.
+ * 
  * @author jfoley
  *
  * @param <T> - the type of the item stored in this list.
@@ -16,107 +26,302 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 	 * The start of this list. Node is defined at the bottom of this file.
 	 */
 	Node<T> start = null;
+	/**
+	 * The last node in this list, so that we can add to the back without walking.
+	 */
+	Node<T> end = null;
+	/**
+	 * How many nodes are in this list?
+	 */
+	private int fill = 0;
+	/**
+	 * How many times has this list been added to or removed from?
+	 * Iterators use this to notice changes that they didn't make.
+	 */
+	private int modCount = 0;
+	/**
+	 * Removed nodes that we can use again, chained through their next links.
+	 */
+	private Node<T> pool = null;
+	/**
+	 * How many nodes are in the pool?
+	 */
+	private int pooled = 0;
+	/**
+	 * How many removed nodes may we keep? Zero turns the pool off.
+	 */
+	private final int poolCapacity;
+	/**
+	 * How many new nodes came from the pool?
+	 */
+	private long poolHits = 0;
+	/**
+	 * How many new nodes had to be allocated?
+	 */
+	private long poolMisses = 0;
+	
+	/**
+	 * A singly-linked list starts empty.
+	 */
+	public SinglyLinkedList() {
+		this(0);
+	}
+	
+	/**
+	 * Make an empty list that keeps up to poolCapacity removed nodes around,
+	 * so that adds after removes (like in a queue) don't make any garbage.
+	 * @param poolCapacity - how many removed nodes to keep; zero for none.
+	 */
+	public SinglyLinkedList(int poolCapacity) {
+		if (poolCapacity < 0) {
+			throw new IllegalArgumentException("poolCapacity must not be negative: " + poolCapacity);
+		}
+		this.poolCapacity = poolCapacity;
+	}
+	
+	/**
+	 * Get a node, from the pool if there is one there.
+	 * @param item - the value to put in it.
+	 * @param next - its successor.
+	 * @return a node holding item.
+	 */
+	private Node<T> newNode(T item, Node<T> next) {
+		Node<T> node = this.pool;
+		if (node == null) {
+			if (poolCapacity > 0) {
+				poolMisses++;
+			}
+			return new Node<T>(item, next);
+		}
+		poolHits++;
+		this.pool = node.next;
+		this.pooled--;
+		node.value = item;
+		node.next = next;
+		return node;
+	}
+	
+	/**
+	 * Keep a node that was taken out of the list, if the pool has room.
+	 * The caller must be done with its links.
+	 * @param node - a node that is no longer in the list.
+	 */
+	private void recycle(Node<T> node) {
+		if (pooled < poolCapacity) {
+			node.value = null;
+			node.next = this.pool;
+			this.pool = node;
+			this.pooled++;
+		}
+	}
+	
+	/**
+	 * @return how many new nodes were reused from the pool.
+	 */
+	public long poolHits() {
+		return poolHits;
+	}
+	
+	/**
+	 * @return how many new nodes had to be allocated even though there is a pool.
+	 */
+	public long poolMisses() {
+		return poolMisses;
+	}
+	
+	/**
+	 * @return the fraction of new nodes that came from the pool, or zero if
+	 *         the pool hasn't been used.
+	 */
+	public double poolHitRate() {
+		long total = poolHits + poolMisses;
+		return total == 0 ? 0.0 : (double) poolHits / total;
+	}
+	
+	/**
+	 * Walk from the start to a given position. The caller checks the index.
+	 * @param index - which node to find.
+	 * @return the node at that position.
+	 */
+	private Node<T> nodeAt(int index) {
+		Node<T> current = this.start;
+		for (int i = 0; i < index; i++) {
+			current = current.next;
+		}
+		return current;
+	}
+
+	/**
+	 * Put a new node into the list.
+	 * @param before - the node it goes after, or null for the front.
+	 * @param item - the value to put in it.
+	 * @return the new node.
+	 */
+	private Node<T> linkAfter(Node<T> before, T item) {
+		Node<T> added;
+		if (before == null) {
+			added = newNode(item, this.start);
+			this.start = added;
+		} else {
+			added = newNode(item, before.next);
+			before.next = added;
+		}
+		if (before == this.end) {
+			this.end = added;
+		}
+		this.fill++;
+		this.modCount++;
+		return added;
+	}
+	
+	/**
+	 * Take a node out of the list.
+	 * @param before - the node right before it, or null if it is the front.
+	 * @param node - the node to remove.
+	 * @return the value it held.
+	 */
+	private T unlinkAfter(Node<T> before, Node<T> node) {
+		if (before == null) {
+			this.start = node.next;
+		} else {
+			before.next = node.next;
+		}
+		if (node == this.end) {
+			this.end = before;
+		}
+		this.fill--;
+		this.modCount++;
+		T value = node.value;
+		recycle(node);
+		return value;
+	}
 
 	@Override
 	public T removeFront() {
 		checkNotEmpty();
-		T removedValue = this.start.value;
-		this.start = this.start.next;
-		return removedValue;
+		return unlinkAfter(null, this.start);
 	}
 
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
-		T removedValue = null;
-		boolean singleItemList = false;
-		for (Node<T> currentNode = this.start; currentNode != null; currentNode = currentNode.next) {
-			if (currentNode.next == null) {
-				removedValue = currentNode.value;
-				singleItemList = true;
-			} else if (currentNode.next.next == null) {
-				removedValue = currentNode.next.value;
-				currentNode.next = null;
-			}
-		}
-		if (singleItemList) {
-			this.start = null;
-		}
-		return removedValue;
+		// we still have to walk to find the node before the end.
+		Node<T> secondLast = (this.fill == 1) ? null : nodeAt(this.fill - 2);
+		return unlinkAfter(secondLast, this.end);
 	}
 
 	@Override
 	public T removeIndex(int index) {
 		checkNotEmpty();
-		//System.out.println("index to remove is: " + index);
-		int listSize = this.size();
-		if (index >=  listSize|| index < 0) {
-			throw new BadIndexError(index);
-		}
-		
-		if (index == listSize-1) {
-			return removeBack();
-		} else if (listSize == 1 || index == 0) {
+		checkExclusiveIndex(index);
+		if (index == 0) {
 			return removeFront();
 		}
-		
-		T removedValue = null;
-		Node<T> currentNode = this.start;
-		for (int i = 0; i <= index; i++) {
-			if (currentNode.next != null) {
-				if (i == index-1) {
-					removedValue = currentNode.next.value;
-					currentNode.next = currentNode.next.next;
-					break;
-				}
-				currentNode = currentNode.next;
-			}
-		}
-		return removedValue;
+		Node<T> before = nodeAt(index - 1);
+		return unlinkAfter(before, before.next);
 	}
 
 	@Override
 	public void addFront(T item) {
-		this.start = new Node<T>(item, this.start);
+		linkAfter(null, item);
 	}
 
 	@Override
 	public void addBack(T item) {
-		for (Node<T> currentNode = this.start; currentNode != null; currentNode = currentNode.next) {
-			if (currentNode.next == null) {
-				currentNode.next = new Node<T>(item, currentNode.next);
-				break;
-			}
-		}
-		if (this.start == null) {
-			this.start = new Node<T>(item, this.start);
-		}
+		linkAfter(this.end, item);
 	}
 
 	@Override
 	public void addIndex(int index, T item) {
-		int startSize = this.size();
-		if (index > startSize || index < 0) {
-			throw new BadIndexError(index);
-		}
-		if (index == 0) {
-			addFront(item);
-			return;
-		} else if (index == startSize) {
-			addBack(item);
+		checkInclusiveIndex(index);
+		linkAfter(index == 0 ? null : nodeAt(index - 1), item);
+	}
+
+	/**
+	 * Add many items to the back at once.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		addAllAt(this.fill, items);
+	}
+	
+	/**
+	 * Add many items in the middle at once. We walk to index just once, build
+	 * a chain of new nodes, and splice the whole chain in.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		checkInclusiveIndex(index);
+		if (items.isEmpty()) {
 			return;
-		} 
-		
-		Node<T> currentNode = this.start;
-		for (int i = 0; i <= index; i++) {
-			if (i+1 == index) {
-				//System.out.println("Replacing " + currentNode.next.value + " with " + item);
-				currentNode.next = new Node<T>(item, currentNode.next);
-				break;
-			}
-			if (currentNode.next != null) {
-				currentNode = currentNode.next;
+		}
+		Node<T> first = null;
+		Node<T> last = null;
+		int count = 0;
+		for (T item : items) {
+			Node<T> added = newNode(item, null);
+			if (first == null) {
+				first = added;
+			} else {
+				last.next = added;
 			}
+			last = added;
+			count++;
+		}
+		
+		Node<T> before = (index == this.fill) ? this.end : (index == 0) ? null : nodeAt(index - 1);
+		if (before == null) {
+			last.next = this.start;
+			this.start = first;
+		} else {
+			last.next = before.next;
+			before.next = first;
+		}
+		if (before == this.end) {
+			this.end = last;
+		}
+		this.fill += count;
+		this.modCount++;
+	}
+	
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once, by connecting the
+	 * node before the range to the node after it.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		checkInclusiveIndex(fromIndex);
+		checkInclusiveIndex(toIndex);
+		if (fromIndex > toIndex) {
+			throw new BadIndexError(fromIndex);
+		}
+		if (fromIndex == toIndex) {
+			return;
+		}
+		Node<T> before = (fromIndex == 0) ? null : nodeAt(fromIndex - 1);
+		Node<T> first = (before == null) ? this.start : before.next;
+		Node<T> last = first;
+		for (int i = fromIndex + 1; i < toIndex; i++) {
+			last = last.next;
+		}
+		if (before == null) {
+			this.start = last.next;
+		} else {
+			before.next = last.next;
+		}
+		if (last == this.end) {
+			this.end = before;
+		}
+		this.fill -= toIndex - fromIndex;
+		this.modCount++;
+		// give the removed nodes to the pool, while it has room.
+		last.next = null;
+		while (first != null && pooled < poolCapacity) {
+			Node<T> following = first.next;
+			recycle(first);
+			first = following;
 		}
 	}
 
@@ -129,47 +334,26 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 	@Override
 	public T getBack() {
 		checkNotEmpty();
-		T retrievedValue = null;
-		for (Node<T> currentNode = this.start; currentNode != null; currentNode = currentNode.next) {
-			if (currentNode.next == null) {
-				retrievedValue = currentNode.value;
-			}
-		}
-		return retrievedValue;
+		return this.end.value;
 	}
 
 	@Override
 	public T getIndex(int index) {
 		checkNotEmpty();
-		int at = 0;
-		for (Node<T> n = this.start; n != null; n = n.next) {
-			if (at++ == index) {
-				return n.value;
-			}
-		}
-		throw new BadIndexError(index);
+		checkExclusiveIndex(index);
+		return nodeAt(index).value;
 	}
 
 	@Override
 	public void setIndex(int index, T value) {
 		checkNotEmpty();
-		int at = 0;
-		for (Node<T> n = this.start; n != null; n = n.next) {
-			if (at++ == index) {
-				n.value = value;
-				return;
-			}
-		}
-		throw new BadIndexError(index);
+		checkExclusiveIndex(index);
+		nodeAt(index).value = value;
 	}
 
 	@Override
 	public int size() {
-		int count = 0;
-		for (Node<T> n = this.start; n != null; n = n.next) {
-			count++;
-		}
-		return count;
+		return this.fill;
 	}
 
 	@Override
@@ -177,6 +361,172 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 		return this.start == null;
 	}
 
+	/**
+	 * Loop over this list by following the nodes, rather than with getIndex.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator(0);
+	}
+	
+	/**
+	 * @return a cursor over this list, starting before the first item.
+	 */
+	public ListIterator<T> listIterator() {
+		return listIterator(0);
+	}
+	
+	/**
+	 * Get a cursor over this list. next(), and set, add or remove at the
+	 * cursor, are O(1); previous() has to walk from the start, because nodes
+	 * don't know who comes before them. If the list is changed any other way
+	 * while the cursor is in use, it throws a ConcurrentModificationException.
+	 * 
+	 * @param index - the position of the item that next() should return.
+	 * @return a cursor starting before that item.
+	 */
+	public ListIterator<T> listIterator(int index) {
+		checkInclusiveIndex(index);
+		return new NodeIterator(index);
+	}
+	
+	/**
+	 * A ListIterator that remembers which node it is at, and the nodes
+	 * right before it so that it can add and remove there.
+	 */
+	private class NodeIterator implements ListIterator<T> {
+		/**
+		 * The node that next() will return, or null at the back.
+		 */
+		private Node<T> next;
+		/**
+		 * The node right before next, or null at the front.
+		 */
+		private Node<T> previous;
+		/**
+		 * The position of next.
+		 */
+		private int nextIndex;
+		/**
+		 * The node last returned by next() or previous(), for set and remove.
+		 */
+		private Node<T> lastReturned;
+		/**
+		 * The node right before lastReturned, so remove can unlink it.
+		 */
+		private Node<T> beforeLastReturned;
+		/**
+		 * What modCount should be, if nobody else changed the list.
+		 */
+		private int expectedModCount;
+		
+		/**
+		 * Start a cursor before a given position.
+		 * @param index - the position of the item that next() should return.
+		 */
+		public NodeIterator(int index) {
+			this.previous = (index == 0) ? null : nodeAt(index - 1);
+			this.next = (index == 0) ? start : this.previous.next;
+			this.nextIndex = index;
+			this.lastReturned = null;
+			this.expectedModCount = modCount;
+		}
+		
+		/**
+		 * Crash if the list was changed by something other than this cursor.
+		 */
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			beforeLastReturned = previous;
+			lastReturned = next;
+			previous = next;
+			next = next.next;
+			nextIndex++;
+			return lastReturned.value;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return previous != null;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			nextIndex--;
+			next = previous;
+			previous = (nextIndex == 0) ? null : nodeAt(nextIndex - 1);
+			lastReturned = next;
+			beforeLastReturned = previous;
+			return lastReturned.value;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			Node<T> afterRemoved = lastReturned.next;
+			unlinkAfter(beforeLastReturned, lastReturned);
+			if (next == lastReturned) {
+				// we just came back with previous().
+				next = afterRemoved;
+			} else {
+				previous = beforeLastReturned;
+				nextIndex--;
+			}
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(T value) {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			lastReturned.value = value;
+		}
+
+		@Override
+		public void add(T value) {
+			checkForComodification();
+			previous = linkAfter(previous, value);
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+
 	/**
 	 * The node on any linked list should not be exposed. Static means we don't need
 	 * a "this" of SinglyLinkedList to make a node.
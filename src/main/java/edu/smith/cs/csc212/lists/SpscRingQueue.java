@@ -0,0 +1,74 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Collection;
+
+/**
+ * A {@linkplain RingQueue} for exactly one producer thread and one consumer
+ * thread.
+ *
+ * With only one producer, nobody else changes the tail, so an add is just:
+ * store the item, then lazySet the tail past it. The producer also remembers
+ * the last head it saw, and only looks at the real head (which the consumer
+ * is busy changing) when that says the queue is full. Nothing here ever
+ * waits or retries.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this queue.
+ */
+public class SpscRingQueue<T> extends RingQueue<T> {
+
+	/**
+	 * Make an empty queue.
+	 * @param capacity - how many items it should hold, rounded up to a power of two.
+	 */
+	public SpscRingQueue(int capacity) {
+		super(capacity);
+	}
+
+	/**
+	 * How much room there is, as far as the producer knows, refreshing what it
+	 * knows only if it has to.
+	 * @param tail - the producer's tail.
+	 * @param wanted - how much room would be enough.
+	 * @return how many empty slots there are (at least).
+	 */
+	private int knownRoom(long tail, int wanted) {
+		int capacity = capacity();
+		if (capacity - (tail - headCache) < wanted) {
+			headCache = head();
+		}
+		return (int) (capacity - (tail - headCache));
+	}
+
+	@Override
+	public boolean offer(T item) {
+		checkNotNull(item);
+		long tail = tail();
+		if (knownRoom(tail, 1) < 1) {
+			return false;
+		}
+		buffer.lazySet((int) tail & mask, item);
+		lazySetTail(tail + 1);
+		return true;
+	}
+
+	@Override
+	public int offerAll(Collection<? extends T> items) {
+		Object[] values = items.toArray();
+		for (Object value : values) {
+			checkNotNull(value);
+		}
+		long tail = tail();
+		int count = Math.min(values.length, knownRoom(tail, values.length));
+		for (int i = 0; i < count; i++) {
+			@SuppressWarnings("unchecked")
+			T item = (T) values[i];
+			buffer.lazySet((int) (tail + i) & mask, item);
+		}
+		if (count > 0) {
+			lazySetTail(tail + count);
+		}
+		return count;
+	}
+}
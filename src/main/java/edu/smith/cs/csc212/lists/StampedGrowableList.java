@@ -0,0 +1,339 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A {@linkplain GrowableList} for many threads that mostly read.
+ *
+ * Writers take a StampedLock's write lock, so only one changes the list at a
+ * time. Readers don't lock at all at first: they take a stamp, read the list,
+ * and then check that no writer got in while they were reading. If one did,
+ * what they read might be half-old, half-new (or they might have crashed
+ * reading an array that was being replaced), so they throw it away and read
+ * again under the read lock. A reader that isn't unlucky never waits and never
+ * writes to anything the other threads share.
+ *
+ * Checking the stamp also makes sure a reader sees everything a writer did
+ * before it let go of the lock, including a new array from a resize.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class StampedGrowableList<T> extends ListADT<T> {
+	/**
+	 * The list doing the real work. Only changed while holding the write lock.
+	 */
+	private final GrowableList<T> list;
+	/**
+	 * Guards list.
+	 */
+	private final StampedLock lock;
+
+	/**
+	 * Construct a new, empty, StampedGrowableList.
+	 */
+	public StampedGrowableList() {
+		this(new GrowableList<T>());
+	}
+
+	/**
+	 * Construct a new, empty, StampedGrowableList with room for a known number of items.
+	 * @param initialCapacity - how many items fit before the array must grow.
+	 */
+	public StampedGrowableList(int initialCapacity) {
+		this(new GrowableList<T>(initialCapacity));
+	}
+
+	/**
+	 * Construct a new, empty, StampedGrowableList that grows in a particular way.
+	 * @param initialCapacity - how many items fit before the array must grow.
+	 * @param policy - how to grow the array when it is full.
+	 */
+	public StampedGrowableList(int initialCapacity, GrowthPolicy policy) {
+		this(new GrowableList<T>(initialCapacity, policy));
+	}
+
+	/**
+	 * All of the constructors end up here.
+	 * @param list - an empty list to guard.
+	 */
+	private StampedGrowableList(GrowableList<T> list) {
+		this.list = list;
+		this.lock = new StampedLock();
+	}
+
+	/**
+	 * Read something from the list: optimistically first, then under the read
+	 * lock if a writer got in the way. Errors (like a BadIndexError) only
+	 * count if the stamp was still good when they happened.
+	 * @param reader - the read to do; it must not change anything.
+	 * @return what it read.
+	 */
+	private <R> R read(Supplier<R> reader) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			R result = null;
+			RuntimeException error = null;
+			try {
+				result = reader.get();
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			if (lock.validate(stamp)) {
+				if (error != null) {
+					throw error;
+				}
+				return result;
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			return reader.get();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public T removeFront() {
+		long stamp = lock.writeLock();
+		try {
+			return list.removeFront();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T removeBack() {
+		long stamp = lock.writeLock();
+		try {
+			return list.removeBack();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		long stamp = lock.writeLock();
+		try {
+			return list.removeIndex(index);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addFront(T item) {
+		long stamp = lock.writeLock();
+		try {
+			list.addFront(item);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addBack(T item) {
+		long stamp = lock.writeLock();
+		try {
+			list.addBack(item);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		long stamp = lock.writeLock();
+		try {
+			list.addIndex(index, item);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Add many items to the back at once, as one change.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllBack(Collection<? extends T> items) {
+		long stamp = lock.writeLock();
+		try {
+			list.addAllBack(items);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Add many items in the middle at once, as one change.
+	 * @param index - where the first new item should go.
+	 * @param items - the new items, in order.
+	 */
+	public void addAllAt(int index, Collection<? extends T> items) {
+		long stamp = lock.writeLock();
+		try {
+			list.addAllAt(index, items);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Remove the items in [fromIndex, toIndex) at once, as one change.
+	 * @param fromIndex - the position of the first item to remove.
+	 * @param toIndex - the position after the last item to remove.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		long stamp = lock.writeLock();
+		try {
+			list.removeRange(fromIndex, toIndex);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Make room for a number of items up front.
+	 * @param minCapacity - how many items should fit.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		long stamp = lock.writeLock();
+		try {
+			list.ensureCapacity(minCapacity);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Shrink the array down to exactly the items it holds.
+	 */
+	public void trimToSize() {
+		long stamp = lock.writeLock();
+		try {
+			list.trimToSize();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		long stamp = lock.writeLock();
+		try {
+			list.setIndex(index, value);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T getFront() {
+		return getIndex(0);
+	}
+
+	/**
+	 * Like getIndex, this is read() written out, so that it doesn't make a
+	 * new Supplier on every call.
+	 */
+	@Override
+	public T getBack() {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			T item = null;
+			RuntimeException error = null;
+			try {
+				item = list.getBack();
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			if (lock.validate(stamp)) {
+				if (error != null) {
+					throw error;
+				}
+				return item;
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			return list.getBack();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * This is read() written out: a lambda here would capture index, and so
+	 * make a new object on every call.
+	 */
+	@Override
+	public T getIndex(int index) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			T item = null;
+			RuntimeException error = null;
+			try {
+				item = list.getIndex(index);
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			if (lock.validate(stamp)) {
+				if (error != null) {
+					throw error;
+				}
+				return item;
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			return list.getIndex(index);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * While other threads are adding and removing, this is only a snapshot.
+	 */
+	@Override
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int size = list.size();
+		if (stamp != 0 && lock.validate(stamp)) {
+			return size;
+		}
+		stamp = lock.readLock();
+		try {
+			return list.size();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Loop over a copy of this list, made all at once (a writer can't get in
+	 * halfway through). Other threads can keep changing the list while you
+	 * loop; you won't see it.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		List<T> copy = read(list::toJava);
+		return Collections.unmodifiableList(copy).iterator();
+	}
+}
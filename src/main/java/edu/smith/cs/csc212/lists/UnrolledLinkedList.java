@@ -0,0 +1,430 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * An unrolled linked list is a {@linkplain DoublyLinkedList} whose nodes hold
+ * a small array of items each, like the chunks of a
+ * {@linkplain ChunkyArrayList}. Because the nodes are linked rather than kept
+ * in an array, putting a new node in the middle or taking one out is O(1);
+ * nothing else has to slide over.
+ *
+ * When an add finds its node full, the node is split in half. When a remove
+ * leaves a node less than half full, it takes an item from a neighbor, or
+ * merges with it if they both fit in one node. So the nodes stay at least
+ * half full, except for the first and last ones.
+ *
+ * @author jfoley
+ *
+ * @param <T> - the type of item stored in this list.
+ */
+public class UnrolledLinkedList<T> extends ListADT<T> {
+	/**
+	 * How many items fit in each node?
+	 */
+	private final int nodeCapacity;
+	/**
+	 * The first node, or null if the list is empty.
+	 */
+	private Node start;
+	/**
+	 * The last node, or null if the list is empty.
+	 */
+	private Node end;
+	/**
+	 * How many items are in all of the nodes?
+	 */
+	private int fill;
+	/**
+	 * How many times has this list been added to or removed from?
+	 * Iterators use this to notice changes that they didn't make.
+	 */
+	private int modCount;
+
+	/**
+	 * Create an UnrolledLinkedList.
+	 * @param nodeCapacity - how many items to store per node; at least 2.
+	 */
+	public UnrolledLinkedList(int nodeCapacity) {
+		if (nodeCapacity < 2) {
+			throw new IllegalArgumentException("nodeCapacity must be at least 2: " + nodeCapacity);
+		}
+		this.nodeCapacity = nodeCapacity;
+		this.start = null;
+		this.end = null;
+		this.fill = 0;
+		this.modCount = 0;
+	}
+
+	/**
+	 * Find the node holding a position, walking from whichever end is closer.
+	 * The caller checks the index.
+	 * @param index - a position in [0, size).
+	 * @return the node holding that position, and where in the node it is.
+	 */
+	private Position<Node> find(int index) {
+		if (index < fill / 2) {
+			int position = 0;
+			Node current = start;
+			while (index >= position + current.count) {
+				position += current.count;
+				current = current.after;
+			}
+			return new Position<>(current, index - position);
+		} else {
+			int position = fill - end.count;
+			Node current = end;
+			while (index < position) {
+				current = current.before;
+				position -= current.count;
+			}
+			return new Position<>(current, index - position);
+		}
+	}
+
+	/**
+	 * Put a new, empty node into the list.
+	 * @param predecessor - the node it goes after, or null for the front.
+	 * @return the new node.
+	 */
+	private Node linkAfter(Node predecessor) {
+		Node successor = (predecessor == null) ? start : predecessor.after;
+		Node added = new Node(predecessor, successor);
+		if (predecessor == null) {
+			start = added;
+		} else {
+			predecessor.after = added;
+		}
+		if (successor == null) {
+			end = added;
+		} else {
+			successor.before = added;
+		}
+		return added;
+	}
+
+	/**
+	 * Take a node out of the list by connecting its neighbors to each other.
+	 * @param node - the node to remove.
+	 */
+	private void unlink(Node node) {
+		if (node.before == null) {
+			start = node.after;
+		} else {
+			node.before.after = node.after;
+		}
+		if (node.after == null) {
+			end = node.before;
+		} else {
+			node.after.before = node.before;
+		}
+	}
+
+	/**
+	 * Put an item into a node, splitting the node in half first if it is full.
+	 * @param node - the node that position belongs to.
+	 * @param offset - the position within that node.
+	 * @param item - the item to add.
+	 */
+	private void insert(Node node, int offset, T item) {
+		if (node.count == nodeCapacity) {
+			Node half = linkAfter(node);
+			int keep = nodeCapacity / 2;
+			node.moveTo(keep, half);
+			if (offset > keep) {
+				node = half;
+				offset -= keep;
+			}
+		}
+		node.insert(offset, item);
+		fill++;
+		modCount++;
+	}
+
+	/**
+	 * Take an item out of a node, and then fix the node up if it is empty or
+	 * less than half full.
+	 * @param node - the node holding the item.
+	 * @param offset - the position of the item within that node.
+	 * @return the item that was removed.
+	 */
+	private T remove(Node node, int offset) {
+		T removed = node.remove(offset);
+		fill--;
+		modCount++;
+		if (node.count == 0) {
+			unlink(node);
+		} else if (node.count < nodeCapacity / 2) {
+			rebalance(node);
+		}
+		return removed;
+	}
+
+	/**
+	 * A node is less than half full: merge it with a neighbor if they fit in
+	 * one node, otherwise borrow an item from that neighbor.
+	 * @param node - the node that is too empty.
+	 */
+	private void rebalance(Node node) {
+		if (node.after != null) {
+			Node neighbor = node.after;
+			if (node.count + neighbor.count <= nodeCapacity) {
+				neighbor.moveTo(0, node);
+				unlink(neighbor);
+			} else {
+				node.insert(node.count, neighbor.remove(0));
+			}
+		} else if (node.before != null) {
+			Node neighbor = node.before;
+			if (node.count + neighbor.count <= nodeCapacity) {
+				node.moveTo(0, neighbor);
+				unlink(node);
+			} else {
+				node.insert(0, neighbor.remove(neighbor.count - 1));
+			}
+		}
+	}
+
+	/**
+	 * This is not private for use in tests.
+	 * @return how many nodes there are.
+	 */
+	int nodeCount() {
+		int count = 0;
+		for (Node current = start; current != null; current = current.after) {
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		return remove(start, 0);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		return remove(end, end.count - 1);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		Position<Node> found = find(index);
+		return remove(found.node, found.offset);
+	}
+
+	@Override
+	public void addFront(T item) {
+		// like ChunkyArrayList, don't split a full front node; start a new one.
+		if (start == null || start.count == nodeCapacity) {
+			linkAfter(null);
+		}
+		insert(start, 0, item);
+	}
+
+	@Override
+	public void addBack(T item) {
+		if (end == null || end.count == nodeCapacity) {
+			linkAfter(end);
+		}
+		insert(end, end.count, item);
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		if (index == fill) {
+			addBack(item);
+			return;
+		}
+		Position<Node> found = find(index);
+		insert(found.node, found.offset, item);
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return start.get(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return end.get(end.count - 1);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		Position<Node> found = find(index);
+		return found.node.get(found.offset);
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		Position<Node> found = find(index);
+		found.node.items[found.offset] = value;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+	/**
+	 * Loop over this list one node at a time, rather than with getIndex.
+	 * If the list is changed while looping, it throws a
+	 * ConcurrentModificationException.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private Node node = start;
+			private int offset = 0;
+			private final int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return node != null;
+			}
+
+			@Override
+			public T next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (node == null) {
+					throw new NoSuchElementException();
+				}
+				T value = node.get(offset++);
+				if (offset == node.count) {
+					node = node.after;
+					offset = 0;
+				}
+				return value;
+			}
+		};
+	}
+
+	/**
+	 * What {@linkplain #find} found: a node, and an offset in it. Static, so
+	 * it doesn't hold on to the list; N is always Node.
+	 * @param <N> - the type of node.
+	 */
+	private static class Position<N> {
+		/**
+		 * The node holding the item.
+		 */
+		final N node;
+		/**
+		 * Which of its items, from zero.
+		 */
+		final int offset;
+
+		/**
+		 * @param node - the node holding the item.
+		 * @param offset - which of its items.
+		 */
+		Position(N node, int offset) {
+			this.node = node;
+			this.offset = offset;
+		}
+	}
+
+	/**
+	 * A node holds up to nodeCapacity items, packed at the front of its array.
+	 * Not static, because it uses nodeCapacity from its list.
+	 */
+	private class Node {
+		/**
+		 * The node before this one, or null.
+		 */
+		Node before;
+		/**
+		 * The node after this one, or null.
+		 */
+		Node after;
+		/**
+		 * The items, in order, starting at zero.
+		 */
+		final Object[] items;
+		/**
+		 * How many items are in use?
+		 */
+		int count;
+
+		/**
+		 * Create an empty node.
+		 * @param before - the node before it.
+		 * @param after - the node after it.
+		 */
+		Node(Node before, Node after) {
+			this.before = before;
+			this.after = after;
+			this.items = new Object[nodeCapacity];
+			this.count = 0;
+		}
+
+		/**
+		 * @param offset - which item, from zero.
+		 * @return the item there.
+		 */
+		@SuppressWarnings("unchecked")
+		T get(int offset) {
+			return (T) items[offset];
+		}
+
+		/**
+		 * Slide items over and store a new one. The caller makes sure there is room.
+		 * @param offset - where it goes.
+		 * @param item - the item to store.
+		 */
+		void insert(int offset, T item) {
+			System.arraycopy(items, offset, items, offset + 1, count - offset);
+			items[offset] = item;
+			count++;
+		}
+
+		/**
+		 * Take out an item and slide the rest over.
+		 * @param offset - which item.
+		 * @return the item that was there.
+		 */
+		T remove(int offset) {
+			T removed = get(offset);
+			System.arraycopy(items, offset + 1, items, offset, count - offset - 1);
+			items[--count] = null;
+			return removed;
+		}
+
+		/**
+		 * Move our items from a position on to the back of another node.
+		 * @param from - the first of our items to move.
+		 * @param other - the node to move them to; it must have room.
+		 */
+		void moveTo(int from, Node other) {
+			int length = count - from;
+			System.arraycopy(items, from, other.items, other.count, length);
+			Arrays.fill(items, from, count, null);
+			other.count += length;
+			count = from;
+		}
+	}
+}
@@ -2,7 +2,9 @@ package edu.smith.cs.csc212.lists;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Assert;
@@ -371,4 +373,304 @@ public class ChunkyArrayListTest {
 	public void testToJava() {
 		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
 	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList);
+	}
+	
+	@Test
+	public void testAddAllAt() {
+		ChunkyArrayList<String> data = new ChunkyArrayList<>(3);
+		data.addAllBack(Arrays.asList("a", "d"));
+		data.addAllAt(1, Arrays.asList("b", "c"));
+		data.addAllAt(0, new ArrayList<String>());
+		data.addAllAt(4, Arrays.asList("e"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), data.toJava());
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		ChunkyArrayList<String> data = new ChunkyArrayList<>(3);
+		data.addAllBack(Arrays.asList("a", "b", "c", "d", "e"));
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a", "d", "e"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a"), data.toJava());
+		data.removeRange(0, 1);
+		Assert.assertEquals(0, data.size());
+		data.addBack("z");
+		Assert.assertEquals("z", data.getBack());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		ChunkyArrayList<String> data = new ChunkyArrayList<>(3);
+		data.addAllBack(Arrays.asList("a", "b", "c"));
+		data.removeRange(2, 1);
+	}
+	
+	@Test
+	public void testRandomBulkEditsMatchArrayList() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(3);
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(7);
+		for (int step=0; step<500; step++) {
+			int where = rand.nextInt(expected.size()+1);
+			if (rand.nextBoolean()) {
+				List<Integer> batch = new ArrayList<>();
+				int count = rand.nextInt(8);
+				for (int i=0; i<count; i++) {
+					batch.add(step * 10 + i);
+				}
+				data.addAllAt(where, batch);
+				expected.addAll(where, batch);
+			} else {
+				int to = where + rand.nextInt(expected.size() - where + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testSplitFullChunk() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4);
+		for (int i=0; i<8; i++) {
+			data.addBack(i);
+		}
+		Assert.assertEquals(2, data.chunkCount());
+		// both chunks are full, so the first one is split in half rather than
+		// making a chunk with just one item in it.
+		data.addIndex(1, 10);
+		Assert.assertEquals(3, data.chunkCount());
+		data.addIndex(1, 11);
+		data.addIndex(4, 12);
+		Assert.assertEquals(3, data.chunkCount());
+		Assert.assertEquals(Arrays.asList(0, 11, 10, 1, 12, 2, 3, 4, 5, 6, 7), data.toJava());
+	}
+	
+	@Test
+	public void testMinFillMerges() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4, 2);
+		for (int i=0; i<12; i++) {
+			data.addBack(i);
+		}
+		Assert.assertEquals(3, data.chunkCount());
+		data.removeIndex(4);
+		data.removeIndex(4);
+		Assert.assertEquals(3, data.chunkCount());
+		// the middle chunk gets too empty, and fits in with its neighbor.
+		data.removeIndex(4);
+		Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 7, 8, 9, 10, 11), data.toJava());
+		Assert.assertEquals(3, data.chunkCount());
+		data.removeIndex(0);
+		data.removeIndex(0);
+		data.removeIndex(0);
+		Assert.assertEquals(Arrays.asList(3, 7, 8, 9, 10, 11), data.toJava());
+		Assert.assertEquals(2, data.chunkCount());
+	}
+	
+	@Test
+	public void testWithoutMinFill() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4);
+		for (int i=0; i<12; i++) {
+			data.addBack(i);
+		}
+		// take two items out of each chunk; they are left half full.
+		for (int i=0; i<3; i++) {
+			data.removeIndex(2 * i);
+			data.removeIndex(2 * i);
+		}
+		Assert.assertEquals(Arrays.asList(2, 3, 6, 7, 10, 11), data.toJava());
+		Assert.assertEquals(3, data.chunkCount());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testMinFillTooBig() {
+		new ChunkyArrayList<Integer>(4, 3);
+	}
+	
+	@Test
+	public void testCompact() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4);
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<40; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		for (int i=0; i<10; i++) {
+			data.removeIndex(i * 3);
+			expected.remove(i * 3);
+		}
+		Assert.assertEquals(10, data.chunkCount());
+		ChunkyArrayList.CompactionReport report = data.compact();
+		Assert.assertEquals(10, report.chunksBefore);
+		Assert.assertEquals(30.0 / 40.0, report.fillFactorBefore, 1e-9);
+		Assert.assertEquals(8, report.chunksAfter);
+		Assert.assertEquals(30.0 / 32.0, report.fillFactorAfter, 1e-9);
+		Assert.assertEquals(expected, data.toJava());
+		
+		// and it still works afterwards.
+		data.addIndex(5, -1);
+		expected.add(5, -1);
+		data.removeBack();
+		expected.remove(expected.size() - 1);
+		Assert.assertEquals(expected, data.toJava());
+		Assert.assertEquals(expected.get(17), data.getIndex(17));
+	}
+	
+	@Test
+	public void testCompactEmpty() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4);
+		ChunkyArrayList.CompactionReport report = data.compact();
+		Assert.assertEquals(0, report.chunksAfter);
+		Assert.assertEquals(1.0, report.fillFactorAfter, 0.0);
+		data.addBack(1);
+		Assert.assertEquals((Integer) 1, data.getFront());
+	}
+	
+	@Test
+	public void testRandomEditsWithMinFill() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(8, 4);
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(3);
+		for (int step=0; step<5000; step++) {
+			int choice = rand.nextInt(9);
+			if (expected.isEmpty() || choice < 3) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, step);
+				expected.add(where, step);
+			} else if (choice == 3) {
+				data.addFront(step);
+				expected.add(0, step);
+			} else if (choice == 4) {
+				Assert.assertEquals(expected.remove(0), data.removeFront());
+			} else if (choice == 5) {
+				Assert.assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else if (choice == 6) {
+				int where = rand.nextInt(expected.size());
+				int to = where + rand.nextInt(Math.min(20, expected.size() - where) + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			} else {
+				int where = rand.nextInt(expected.size());
+				Assert.assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			Assert.assertEquals(expected.size(), data.size());
+			// every chunk but the ends has at least minFill items.
+			Assert.assertTrue(data.chunkCount() <= 2 + expected.size() / 4);
+			if (step % 1000 == 999) {
+				data.compact();
+			}
+		}
+		Assert.assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAdaptiveGrows() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>();
+		Assert.assertEquals(ChunkyArrayList.MIN_ADAPTIVE_CHUNK, data.chunkSize());
+		for (int i=0; i<10000; i++) {
+			data.addBack(i);
+		}
+		// sqrt(10000) is 100; it has to be past 4*64*64 to go to 128.
+		Assert.assertEquals(64, data.chunkSize());
+		// the old small chunks have been re-chunked along the way.
+		Assert.assertEquals(10000 / 64 + 1, data.chunkCount());
+		for (int i=0; i<10000; i++) {
+			Assert.assertEquals((Integer) i, data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAdaptiveShrinks() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>();
+		List<Integer> items = new ArrayList<>();
+		for (int i=0; i<20000; i++) {
+			items.add(i);
+		}
+		data.addAllBack(items);
+		Assert.assertEquals(128, data.chunkSize());
+		data.removeRange(100, 20000);
+		for (int i=0; i<100; i++) {
+			data.addFront(-i);
+			data.removeBack();
+		}
+		Assert.assertEquals(ChunkyArrayList.MIN_ADAPTIVE_CHUNK, data.chunkSize());
+		Assert.assertTrue(data.chunkCount() <= 100 / 8 + 2);
+		Assert.assertEquals(100, data.size());
+		Assert.assertEquals((Integer) (-99), data.getFront());
+	}
+	
+	@Test
+	public void testRandomEditsAdaptive() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(5);
+		for (int step=0; step<20000; step++) {
+			int choice = rand.nextInt(10);
+			if (expected.isEmpty() || choice < 4) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, step);
+				expected.add(where, step);
+			} else if (choice == 4) {
+				data.addBack(step);
+				expected.add(step);
+			} else if (choice == 5) {
+				data.addFront(step);
+				expected.add(0, step);
+			} else if (choice == 6 && step > 15000) {
+				int where = rand.nextInt(expected.size());
+				int to = where + rand.nextInt(Math.min(200, expected.size() - where) + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			} else if (choice == 7) {
+				Assert.assertEquals(expected.remove(0), data.removeFront());
+			} else {
+				int where = rand.nextInt(expected.size());
+				Assert.assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAdaptiveShrinkThenAddIndex() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<20000; i++) {
+			expected.add(i);
+		}
+		data.addAllBack(expected);
+		// adding one at a time gives re-chunking time to catch up to 128.
+		for (int i=20000; i<25000; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Assert.assertEquals(128, data.chunkSize());
+		// chunkSize halves twice, but most chunks still hold 128 until re-chunking gets to them.
+		data.removeRange(0, 24400);
+		expected.subList(0, 24400).clear();
+		Assert.assertEquals(32, data.chunkSize());
+		for (int i=0; i<50; i++) {
+			int where = expected.size() / 2;
+			data.addIndex(where, -i);
+			expected.add(where, -i);
+		}
+		Assert.assertEquals(expected, data.toJava());
+	}
 }
@@ -0,0 +1,507 @@
+package edu.smith.cs.csc212.lists;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+
+@SuppressWarnings("javadoc")
+public class ConcurrentChunkyArrayListTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private <T> ListADT<T> makeEmptyList() {
+		return new ConcurrentChunkyArrayList<>(3);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [a, b, c, d] - a small, predictable list for many tests.
+	 */
+	private ListADT<String> makeABCDList() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+		data.addBack("d");
+		return data;
+	}
+		
+	@Test
+	public void testEmpty() {
+		ListADT<String> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.removeFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.removeBack();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveIndexCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.removeIndex(3);
+	}
+
+	@Test
+	public void testAddToFront() {
+		ListADT<String> data = makeEmptyList();
+		Assert.assertEquals(true, data.isEmpty());
+		data.addFront("1");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("1", data.getIndex(0));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("0");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("0", data.getIndex(0));
+		Assert.assertEquals("1", data.getIndex(1));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("-1");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("-1", data.getIndex(0));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(2));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("-2");
+		Assert.assertEquals("-1", data.getIndex(1));
+		Assert.assertEquals("-2", data.getIndex(0));
+		Assert.assertEquals("0", data.getIndex(2));
+		Assert.assertEquals("1", data.getIndex(3));
+		Assert.assertEquals(false, data.isEmpty());
+	}
+	
+	@Test
+	public void testAddToBack() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("1");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("0");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("-1");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("-1", data.getIndex(2));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("-2");
+		Assert.assertEquals("-2", data.getIndex(3));
+		Assert.assertEquals("-1", data.getIndex(2));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+	}
+	
+	@Test
+	public void testAddBackFull() {
+		ListADT<Integer> items = makeEmptyList();
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			items.addBack((i+1)*3);
+			Assert.assertEquals(i+1, items.size());
+			Assert.assertEquals((i+1)*3, (int) items.getBack()); 
+		}
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			Assert.assertEquals((i+1)*3, (int) items.getIndex(i)); 
+		}
+	}
+	
+	@Test
+	public void testAddFrontFull() {
+		final int N = GrowableList.START_SIZE * 5;
+		ListADT<Integer> items1 = makeEmptyList();
+		for (int i = 0; i < N; i++) {
+			items1.addBack((i + 1) * 3);
+			Assert.assertEquals(i + 1, items1.size());
+			Assert.assertEquals((i + 1) * 3, (int) items1.getBack());
+		}
+		ListADT<Integer> items2 = makeEmptyList();
+		int found = 0;
+		while (!items1.isEmpty()) {
+			items2.addFront(items1.removeBack());
+			if (found++ > N) {
+				throw new AssertionError("Something wrong with isEmpty, I think.");
+			}
+		}
+		for (int i = 0; i < GrowableList.START_SIZE * 5; i++) {
+			Assert.assertEquals((i + 1) * 3, (int) items2.getIndex(i));
+		}
+	}
+	
+	private void insertSorted(ListADT<Integer> items, int num) {
+		for (int i=0; i<items.size(); i++) {
+			if (items.getIndex(i) >= num) {
+				items.addIndex(i, num);
+				return;
+			}
+		}
+		items.addBack(num);
+	}
+	
+	@Test
+	public void testAddIndexMany() {
+		ListADT<Integer> items1 = makeEmptyList();
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			items1.addBack((i+1)*3);
+			Assert.assertEquals(i+1, items1.size());
+			Assert.assertEquals((i+1)*3, (int) items1.getBack()); 
+		}
+		
+		Random rand = new Random(13);
+		ListADT<Integer> items2 = makeEmptyList();
+		
+		// If this test runs forever, make sure removeIndex actually removes things.
+		while(!items1.isEmpty()) {
+			int value = items1.removeIndex(rand.nextInt(items1.size()));
+			insertSorted(items2, value);
+		}
+		
+		
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			Assert.assertEquals((i+1)*3, (int) items2.getIndex(i)); 
+		}
+	}
+	
+	@Test
+	public void testRemoveFront() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("a", data.removeFront());
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("b", data.removeFront());
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("c", data.removeFront());
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("d", data.removeFront());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveBack() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("d", data.removeBack());
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("c", data.removeBack());
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("b", data.removeBack());
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("a", data.removeBack());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveIndex() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("c", data.removeIndex(2));
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("d", data.removeIndex(2));
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("b", data.removeIndex(1));
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("a", data.removeIndex(0));
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testAddIndexFront() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("A");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("A", data.getFront());
+		data.addIndex(0, "B");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("B", data.getFront());
+		Assert.assertEquals("A", data.getBack());
+	}
+	
+	@Test
+	public void testAddIndexBack() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("A");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("A", data.getFront());
+		data.addIndex(1, "B");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("A", data.getFront());
+		Assert.assertEquals("B", data.getBack());
+	}
+	
+	@Test
+	public void testAddIndexCenter() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("A");
+		data.addBack("C");
+		data.addBack("D");
+		data.addBack("E");
+		Assert.assertEquals(4, data.size());
+		
+		data.addIndex(1, "B");
+		Assert.assertEquals(5, data.size());
+		Assert.assertEquals("B", data.getIndex(1));
+	}
+	
+	@Test
+	public void testGetFront() {
+		ListADT<String> data = makeABCDList();
+		assertEquals("a", data.getFront());
+	}
+	
+	@Test
+	public void testGetBack() {
+		ListADT<String> data = makeABCDList();
+		assertEquals("d", data.getBack());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.getFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.getBack();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexLow() {
+		ListADT<String> data = makeABCDList();
+		data.getIndex(-2);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		ListADT<String> data = makeABCDList();
+		data.getIndex(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHighEasy() {
+		ListADT<String> data = makeABCDList();
+		data.getIndex(data.size()*2);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexHighEasy() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(data.size()*2, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexHigh() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(data.size()+1, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(-1, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexHighEasy() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(data.size()*2, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexHigh() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(data.size(), "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexLow() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(-1, "the");
+	}
+	
+	@Test
+	public void testSetIndexEasy() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(0, "z");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("b", data.getIndex(1));
+		assertEquals("c", data.getIndex(2));
+		assertEquals("d", data.getIndex(3));
+
+		data.setIndex(1, "y");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("y", data.getIndex(1));
+		assertEquals("c", data.getIndex(2));
+		assertEquals("d", data.getIndex(3));
+		
+		data.setIndex(2, "x");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("y", data.getIndex(1));
+		assertEquals("x", data.getIndex(2));
+		assertEquals("d", data.getIndex(3));
+		
+		data.setIndex(3, "w");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("y", data.getIndex(1));
+		assertEquals("x", data.getIndex(2));
+		assertEquals("w", data.getIndex(3));
+	}
+
+	
+	@Test
+	public void testToJava() {
+		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
+	}
+	@Test
+	public void testUpdateIndex() {
+		ConcurrentChunkyArrayList<Integer> data = new ConcurrentChunkyArrayList<>(3);
+		for (int i=0; i<10; i++) {
+			data.addBack(i);
+		}
+		Assert.assertEquals((Integer) 70, data.updateIndex(7, x -> x * 10));
+		Assert.assertEquals((Integer) 70, data.getIndex(7));
+		Assert.assertEquals(10, data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testUpdateIndexHigh() {
+		ConcurrentChunkyArrayList<Integer> data = new ConcurrentChunkyArrayList<>(3);
+		data.addBack(1);
+		data.updateIndex(1, x -> x);
+	}
+	
+	@Test
+	public void testBulkEdits() {
+		ConcurrentChunkyArrayList<Integer> data = new ConcurrentChunkyArrayList<>(4);
+		data.addAllBack(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		data.addAllAt(2, Arrays.asList(-1, -2));
+		data.removeRange(5, 9);
+		Assert.assertEquals(Arrays.asList(0, 1, -1, -2, 2, 7, 8, 9), data.toJava());
+		data.compact();
+		Assert.assertEquals(Arrays.asList(0, 1, -1, -2, 2, 7, 8, 9), data.toJava());
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(ConcurrentChunkyArrayList::new);
+	}
+	
+	@Test
+	public void testConcurrentUpdatesWhileGrowing() throws InterruptedException {
+		final ConcurrentChunkyArrayList<Integer> data = new ConcurrentChunkyArrayList<>(16);
+		final int counters = 100;
+		for (int i=0; i<counters; i++) {
+			data.addBack(0);
+		}
+		final int perThread = 20000;
+		List<Thread> threads = new ArrayList<>();
+		for (int t=0; t<4; t++) {
+			final int seed = t;
+			threads.add(new Thread(() -> {
+				Random rand = new Random(seed);
+				for (int i=0; i<perThread; i++) {
+					data.updateIndex(rand.nextInt(counters), x -> x + 1);
+				}
+			}));
+		}
+		// the counters stay at the front while this splits and adds chunks after them.
+		threads.add(new Thread(() -> {
+			for (int i=0; i<perThread; i++) {
+				data.addBack(0);
+				if (i % 3 == 0) {
+					data.removeBack();
+				}
+			}
+		}));
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		int total = 0;
+		for (int i=0; i<counters; i++) {
+			total += data.getIndex(i);
+		}
+		Assert.assertEquals(4 * perThread, total);
+	}
+	
+	@Test
+	public void testConcurrentAppends() throws InterruptedException {
+		// the default list is adaptive, so this also re-chunks as it grows.
+		final ConcurrentChunkyArrayList<Integer> data = new ConcurrentChunkyArrayList<>();
+		final int before = 1000;
+		for (int i=0; i<before; i++) {
+			data.addBack(-i);
+		}
+		final int writers = 4;
+		final int perThread = 20000;
+		List<Thread> threads = new ArrayList<>();
+		for (int t=0; t<writers; t++) {
+			final int first = t * perThread;
+			threads.add(new Thread(() -> {
+				for (int i=0; i<perThread; i++) {
+					data.addBack(first + i);
+					// take some back off and put them on again.
+					if (i % 5 == 4) {
+						data.addBack(data.removeBack());
+					}
+				}
+			}));
+		}
+		// readers in the old part of the list always see the same items.
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		threads.add(new Thread(() -> {
+			Random rand = new Random(1);
+			try {
+				for (int i=0; i<perThread; i++) {
+					int where = rand.nextInt(before);
+					Assert.assertEquals((Integer) (-where), data.getIndex(where));
+					Assert.assertTrue(data.size() >= before);
+					Assert.assertNotNull(data.getBack());
+				}
+			} catch (Throwable e) {
+				errors.add(e);
+			}
+		}));
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		Assert.assertEquals(Collections.emptyList(), errors);
+		Assert.assertEquals(before + writers * perThread, data.size());
+		List<Integer> items = data.toJava();
+		for (int i=0; i<before; i++) {
+			Assert.assertEquals((Integer) (-i), items.get(i));
+		}
+		List<Integer> added = new ArrayList<>(items.subList(before, items.size()));
+		Collections.sort(added);
+		for (int i=0; i<writers * perThread; i++) {
+			Assert.assertEquals((Integer) i, added.get(i));
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package edu.smith.cs.csc212.lists;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+@SuppressWarnings("javadoc")
+public class DoubleFixedSizeListTest {
+	
+	/**
+	 * How many items fit in the lists we test?
+	 */
+	private static final int N = 50;
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private DoubleFixedSizeList makeEmptyList() {
+		return new DoubleFixedSizeList(N);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private DoubleFixedSizeList make0123List() {
+		DoubleFixedSizeList data = makeEmptyList();
+		data.addBackDouble(0);
+		data.addBackDouble(1);
+		data.addBackDouble(2);
+		data.addBackDouble(3);
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Double> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFrontDouble();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		makeEmptyList().removeBackDouble();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		makeEmptyList().getFrontDouble();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		DoubleFixedSizeList data = make0123List();
+		data.getDouble(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndexDouble(-1, 7);
+	}
+	
+	@Test
+	public void testAddBackFull() {
+		DoubleFixedSizeList items = makeEmptyList();
+		for (int i=0; i<N; i++) {
+			items.addBackDouble((double) (i+1)*3);
+			Assert.assertEquals(i+1, items.size());
+			Assert.assertEquals(Double.valueOf((i+1)*3), items.getBack());
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertEquals(Double.valueOf((i+1)*3), items.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAddFrontFull() {
+		DoubleFixedSizeList items = makeEmptyList();
+		for (int i=N-1; i>=0; i--) {
+			items.addFrontDouble(i);
+			Assert.assertEquals(N-i, items.size());
+			Assert.assertTrue(items.getFrontDouble() == i);
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertTrue(items.getDouble(i) == i);
+		}
+	}
+	
+	@Test
+	public void testRemoveFrontAndBack() {
+		DoubleFixedSizeList data = make0123List();
+		Assert.assertTrue(data.removeFrontDouble() == 0);
+		Assert.assertTrue(data.removeBackDouble() == 3);
+		Assert.assertEquals(Double.valueOf(1), data.removeFront());
+		Assert.assertEquals(Double.valueOf(2), data.removeBack());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test
+	public void testSetDouble() {
+		DoubleFixedSizeList data = make0123List();
+		data.setDouble(2, 20);
+		data.setIndex(3, Double.valueOf(30));
+		Assert.assertTrue(data.getDouble(2) == 20);
+		Assert.assertEquals(Double.valueOf(30), data.getIndex(3));
+	}
+	
+	@Test
+	public void testToDoubleArray() {
+		DoubleFixedSizeList data = make0123List();
+		data.addFrontDouble(-1);
+		double[] items = data.toDoubleArray();
+		Assert.assertEquals(5, items.length);
+		for (int i=0; i<items.length; i++) {
+			Assert.assertTrue(items[i] == i-1);
+		}
+	}
+	
+	@Test
+	public void testBulkCopy() {
+		DoubleFixedSizeList data = new DoubleFixedSizeList(6);
+		// move the front along so that the copies have to wrap around.
+		for (int i=0; i<4; i++) {
+			data.addBackDouble(-1);
+			data.removeFrontDouble();
+		}
+		data.addAllDouble(new double[] {9, 0, 1, 2, 3, 9}, 1, 4);
+		Assert.assertEquals(4, data.size());
+		double[] output = new double[] {7, 7, 7};
+		data.copyTo(1, output, 1, 2);
+		Assert.assertTrue(output[0] == 7);
+		Assert.assertTrue(output[1] == 1);
+		Assert.assertTrue(output[2] == 2);
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddAllFull() {
+		DoubleFixedSizeList data = new DoubleFixedSizeList(3);
+		data.addAllDouble(new double[] {1, 2, 3, 4}, 0, 4);
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddFull() {
+		DoubleFixedSizeList data = new DoubleFixedSizeList(4);
+		for (int i=0; i<4; i++) {
+			data.addBackDouble(i);
+		}
+		Assert.assertEquals(true, data.isFull());
+		data.addFrontDouble(4);
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList, N, Double::valueOf);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
@@ -2,7 +2,12 @@ package edu.smith.cs.csc212.lists;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Random;
 
 import org.junit.Assert;
@@ -375,4 +380,303 @@ public class DoublyLinkedListTest {
 	public void testToJava() {
 		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
 	}
+	
+	@Test
+	public void testIteratorMatchesGetIndex() {
+		ListADT<String> data = makeABCDList();
+		List<String> seen = new ArrayList<>();
+		for (String item : data) {
+			seen.add(item);
+		}
+		Assert.assertEquals(data.toJava(), seen);
+	}
+	
+	@Test
+	public void testListIteratorMatchesArrayList() {
+		DoublyLinkedList<Integer> data = new DoublyLinkedList<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<20; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Random rand = new Random(5);
+		ListIterator<Integer> actualIt = data.listIterator(7);
+		ListIterator<Integer> expectedIt = expected.listIterator(7);
+		boolean canEdit = false;
+		for (int step=0; step<2000; step++) {
+			int choice = rand.nextInt(6);
+			if (choice == 0 && expectedIt.hasNext()) {
+				Assert.assertEquals(expectedIt.next(), actualIt.next());
+				canEdit = true;
+			} else if (choice == 1 && expectedIt.hasPrevious()) {
+				Assert.assertEquals(expectedIt.previous(), actualIt.previous());
+				canEdit = true;
+			} else if (choice == 2 && canEdit) {
+				expectedIt.remove();
+				actualIt.remove();
+				canEdit = false;
+			} else if (choice == 3 && canEdit) {
+				expectedIt.set(-step);
+				actualIt.set(-step);
+			} else if (choice == 4) {
+				expectedIt.add(step);
+				actualIt.add(step);
+				canEdit = false;
+			}
+			Assert.assertEquals(expectedIt.nextIndex(), actualIt.nextIndex());
+			Assert.assertEquals(expectedIt.hasNext(), actualIt.hasNext());
+			Assert.assertEquals(expectedIt.hasPrevious(), actualIt.hasPrevious());
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		if (!expected.isEmpty()) {
+			Assert.assertEquals(expected.get(0), data.getFront());
+			Assert.assertEquals(expected.get(expected.size()-1), data.getBack());
+		}
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		ListADT<String> data = makeABCDList();
+		Iterator<String> it = data.iterator();
+		it.next();
+		data.removeBack();
+		it.next();
+	}
+	
+	@Test
+	public void testAddAllAt() {
+		DoublyLinkedList<String> data = new DoublyLinkedList<>();
+		data.addAllBack(Arrays.asList("a", "d"));
+		data.addAllAt(1, Arrays.asList("b", "c"));
+		data.addAllAt(0, new ArrayList<String>());
+		data.addAllAt(4, Arrays.asList("e"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), data.toJava());
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		DoublyLinkedList<String> data = new DoublyLinkedList<>();
+		data.addAllBack(Arrays.asList("a", "b", "c", "d", "e"));
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a", "d", "e"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a"), data.toJava());
+		data.removeRange(0, 1);
+		Assert.assertEquals(0, data.size());
+		data.addBack("z");
+		Assert.assertEquals("z", data.getBack());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		DoublyLinkedList<String> data = new DoublyLinkedList<>();
+		data.addAllBack(Arrays.asList("a", "b", "c"));
+		data.removeRange(2, 1);
+	}
+	
+	@Test
+	public void testRandomBulkEditsMatchArrayList() {
+		DoublyLinkedList<Integer> data = new DoublyLinkedList<>();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(7);
+		for (int step=0; step<500; step++) {
+			int where = rand.nextInt(expected.size()+1);
+			if (rand.nextBoolean()) {
+				List<Integer> batch = new ArrayList<>();
+				int count = rand.nextInt(8);
+				for (int i=0; i<count; i++) {
+					batch.add(step * 10 + i);
+				}
+				data.addAllAt(where, batch);
+				expected.addAll(where, batch);
+			} else {
+				int to = where + rand.nextInt(expected.size() - where + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testConcat() {
+		DoublyLinkedList<String> front = new DoublyLinkedList<>();
+		DoublyLinkedList<String> back = new DoublyLinkedList<>();
+		front.addAllBack(Arrays.asList("a", "b"));
+		back.addAllBack(Arrays.asList("c", "d"));
+		front.concat(back);
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), front.toJava());
+		Assert.assertTrue(back.isEmpty());
+		Assert.assertEquals(0, back.size());
+		Assert.assertEquals("d", front.getBack());
+		Assert.assertEquals("c", front.getIndex(2));
+		
+		// the emptied list still works.
+		back.addBack("e");
+		front.concat(back);
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), front.toJava());
+	}
+	
+	@Test
+	public void testConcatEmpty() {
+		DoublyLinkedList<String> front = new DoublyLinkedList<>();
+		DoublyLinkedList<String> back = new DoublyLinkedList<>();
+		front.concat(back);
+		Assert.assertTrue(front.isEmpty());
+		back.addBack("a");
+		front.concat(back);
+		Assert.assertEquals(Arrays.asList("a"), front.toJava());
+		front.concat(back);
+		Assert.assertEquals(Arrays.asList("a"), front.toJava());
+		Assert.assertEquals("a", front.removeBack());
+		Assert.assertTrue(front.isEmpty());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testConcatSelf() {
+		DoublyLinkedList<String> data = new DoublyLinkedList<>();
+		data.addBack("a");
+		data.concat(data);
+	}
+	
+	@Test
+	public void testSplitAt() {
+		for (int index=0; index<=4; index++) {
+			DoublyLinkedList<String> data = new DoublyLinkedList<>();
+			data.addAllBack(Arrays.asList("a", "b", "c", "d"));
+			DoublyLinkedList<String> back = data.splitAt(index);
+			Assert.assertEquals(Arrays.asList("a", "b", "c", "d").subList(0, index), data.toJava());
+			Assert.assertEquals(Arrays.asList("a", "b", "c", "d").subList(index, 4), back.toJava());
+			Assert.assertEquals(index, data.size());
+			Assert.assertEquals(4 - index, back.size());
+			
+			// both halves still work at the ends where they were cut.
+			data.addBack("x");
+			back.addFront("y");
+			Assert.assertEquals("x", data.getBack());
+			Assert.assertEquals("y", back.getFront());
+			data.concat(back);
+			Assert.assertEquals(6, data.size());
+		}
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSplitAtBadIndex() {
+		DoublyLinkedList<String> data = new DoublyLinkedList<>();
+		data.addBack("a");
+		data.splitAt(2);
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testSplitAtBreaksIterator() {
+		DoublyLinkedList<String> data = new DoublyLinkedList<>();
+		data.addAllBack(Arrays.asList("a", "b", "c"));
+		Iterator<String> it = data.iterator();
+		it.next();
+		data.splitAt(1);
+		it.next();
+	}
+	
+	@Test
+	public void testPoolReusesNodes() {
+		DoublyLinkedList<Integer> queue = new DoublyLinkedList<>(4);
+		for (int i=0; i<4; i++) {
+			queue.addBack(i);
+		}
+		Assert.assertEquals(0, queue.poolHits());
+		Assert.assertEquals(4, queue.poolMisses());
+		for (int i=4; i<1000; i++) {
+			Assert.assertEquals((Integer) (i - 4), queue.removeFront());
+			queue.addBack(i);
+		}
+		Assert.assertEquals(996, queue.poolHits());
+		Assert.assertEquals(4, queue.poolMisses());
+		Assert.assertEquals(996.0 / 1000.0, queue.poolHitRate(), 1e-9);
+		Assert.assertEquals(Arrays.asList(996, 997, 998, 999), queue.toJava());
+	}
+	
+	@Test
+	public void testPoolIsBounded() {
+		DoublyLinkedList<Integer> data = new DoublyLinkedList<>(2);
+		data.addAllBack(Arrays.asList(1, 2, 3, 4, 5));
+		data.removeRange(0, 5);
+		Assert.assertTrue(data.isEmpty());
+		data.addAllBack(Arrays.asList(6, 7, 8));
+		Assert.assertEquals(2, data.poolHits());
+		Assert.assertEquals(6, data.poolMisses());
+		Assert.assertEquals(Arrays.asList(6, 7, 8), data.toJava());
+	}
+	
+	@Test
+	public void testNoPool() {
+		DoublyLinkedList<Integer> data = new DoublyLinkedList<>();
+		data.addBack(1);
+		data.removeBack();
+		data.addBack(2);
+		Assert.assertEquals(0, data.poolHits());
+		Assert.assertEquals(0, data.poolMisses());
+		Assert.assertEquals(0.0, data.poolHitRate(), 0.0);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativePool() {
+		new DoublyLinkedList<Integer>(-1);
+	}
+	
+	@Test
+	public void testPoolWithIteratorRemove() {
+		DoublyLinkedList<Integer> data = new DoublyLinkedList<>(8);
+		data.addAllBack(Arrays.asList(1, 2, 3, 4, 5, 6));
+		ListIterator<Integer> it = data.listIterator();
+		while (it.hasNext()) {
+			if (it.next() % 2 == 0) {
+				it.remove();
+				it.add(0);
+			}
+		}
+		Assert.assertEquals(Arrays.asList(1, 0, 3, 0, 5, 0), data.toJava());
+		it.previous();
+		it.remove();
+		it.previous();
+		it.remove();
+		Assert.assertEquals(Arrays.asList(1, 0, 3, 0), data.toJava());
+		Assert.assertEquals((Integer) 0, data.getBack());
+	}
+	
+	@Test
+	public void testRandomEditsWithPool() {
+		DoublyLinkedList<Integer> data = new DoublyLinkedList<>(16);
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(99);
+		for (int step=0; step<3000; step++) {
+			int choice = rand.nextInt(6);
+			if (expected.isEmpty() || choice < 2) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, step);
+				expected.add(where, step);
+			} else if (choice == 2) {
+				data.addBack(step);
+				expected.add(step);
+			} else if (choice == 3) {
+				Assert.assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else if (choice == 4) {
+				int where = rand.nextInt(expected.size());
+				int to = where + rand.nextInt(Math.min(5, expected.size() - where) + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			} else {
+				int where = rand.nextInt(expected.size());
+				Assert.assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		Assert.assertTrue(data.poolHits() > 0);
+	}
 }
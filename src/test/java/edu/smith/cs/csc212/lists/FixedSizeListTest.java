@@ -2,6 +2,11 @@ package edu.smith.cs.csc212.lists;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -239,5 +244,86 @@ public class FixedSizeListTest {
 		ListADT<String> data = makeFullList();
 		data.getIndex(data.size()*2);
 	}
-
+	
+	@Test
+	public void testQueueWrapsAround() {
+		ListADT<Integer> data = new FixedSizeList<>(4);
+		for (int i=0; i<20; i++) {
+			data.addBack(i);
+			if (i >= 3) {
+				Assert.assertEquals(i-3, (int) data.removeFront());
+			}
+		}
+		Assert.assertEquals(3, data.size());
+		data.addFront(16);
+		Assert.assertEquals(true, ((FixedSizeList<Integer>) data).isFull());
+		for (int i=0; i<4; i++) {
+			Assert.assertEquals(16+i, (int) data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(() -> new FixedSizeList<>(16), 16);
+	}
+	
+	@Test
+	public void testAddAllAt() {
+		FixedSizeList<String> data = new FixedSizeList<>(4000);
+		data.addAllBack(Arrays.asList("a", "d"));
+		data.addAllAt(1, Arrays.asList("b", "c"));
+		data.addAllAt(0, new ArrayList<String>());
+		data.addAllAt(4, Arrays.asList("e"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), data.toJava());
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		FixedSizeList<String> data = new FixedSizeList<>(4000);
+		data.addAllBack(Arrays.asList("a", "b", "c", "d", "e"));
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a", "d", "e"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a"), data.toJava());
+		data.removeRange(0, 1);
+		Assert.assertEquals(0, data.size());
+		data.addBack("z");
+		Assert.assertEquals("z", data.getBack());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		FixedSizeList<String> data = new FixedSizeList<>(4000);
+		data.addAllBack(Arrays.asList("a", "b", "c"));
+		data.removeRange(2, 1);
+	}
+	
+	@Test
+	public void testRandomBulkEditsMatchArrayList() {
+		FixedSizeList<Integer> data = new FixedSizeList<>(4000);
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(7);
+		for (int step=0; step<500; step++) {
+			int where = rand.nextInt(expected.size()+1);
+			if (rand.nextBoolean()) {
+				List<Integer> batch = new ArrayList<>();
+				int count = rand.nextInt(8);
+				for (int i=0; i<count; i++) {
+					batch.add(step * 10 + i);
+				}
+				data.addAllAt(where, batch);
+				expected.addAll(where, batch);
+			} else {
+				int to = where + rand.nextInt(expected.size() - where + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), data.getIndex(i));
+		}
+	}
 }
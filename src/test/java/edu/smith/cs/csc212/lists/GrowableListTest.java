@@ -2,7 +2,9 @@ package edu.smith.cs.csc212.lists;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Assert;
@@ -375,4 +377,196 @@ public class GrowableListTest {
 	public void testToJava() {
 		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
 	}
+	
+	@Test
+	public void testQueueWrapsAround() {
+		final int N = GrowableList.START_SIZE * 5;
+		ListADT<Integer> data = makeEmptyList();
+		for (int i=0; i<N; i++) {
+			data.addBack(i);
+			if (i >= 5) {
+				Assert.assertEquals(i-5, (int) data.removeFront());
+			}
+		}
+		Assert.assertEquals(5, data.size());
+		for (int i=0; i<5; i++) {
+			Assert.assertEquals(N-5+i, (int) data.getIndex(i));
+		}
+		data.addFront(-1);
+		Assert.assertEquals(-1, (int) data.getFront());
+		Assert.assertEquals(N-1, (int) data.getBack());
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList);
+	}
+	
+	@Test
+	public void testEnsureCapacity() {
+		GrowableList<Integer> data = new GrowableList<>();
+		data.ensureCapacity(1000);
+		Assert.assertEquals(1000, data.capacity());
+		for (int i=0; i<1000; i++) {
+			data.addBack(i);
+		}
+		Assert.assertEquals(1000, data.capacity());
+		data.ensureCapacity(10);
+		Assert.assertEquals(1000, data.capacity());
+	}
+	
+	@Test
+	public void testEnsureCapacityKeepsShrinkingAway() {
+		GrowableList<Integer> data = new GrowableList<>();
+		data.ensureCapacity(1000);
+		data.addBack(1);
+		data.removeBack();
+		Assert.assertEquals(1000, data.capacity());
+		// trimToSize forgets it, so removes shrink the array again.
+		data.trimToSize();
+		for (int i=0; i<1000; i++) {
+			data.addBack(i);
+		}
+		while (data.size() > 1) {
+			data.removeBack();
+		}
+		Assert.assertEquals(GrowableList.START_SIZE, data.capacity());
+	}
+	
+	@Test
+	public void testTrimToSize() {
+		GrowableList<String> data = new GrowableList<>();
+		data.addBack("a");
+		data.addBack("b");
+		data.trimToSize();
+		Assert.assertEquals(2, data.capacity());
+		data.addBack("c");
+		Assert.assertEquals(Arrays.asList("a", "b", "c"), data.toJava());
+		
+		GrowableList<String> empty = new GrowableList<>(0);
+		empty.addFront("x");
+		Assert.assertEquals("x", empty.getFront());
+	}
+	
+	@Test
+	public void testShrinksWhenSparse() {
+		GrowableList<Integer> data = new GrowableList<>();
+		for (int i=0; i<1000; i++) {
+			data.addBack(i);
+		}
+		int peak = data.capacity();
+		while (data.size() > 1) {
+			data.removeBack();
+		}
+		Assert.assertEquals(GrowableList.START_SIZE, data.capacity());
+		Assert.assertEquals(0, (int) data.getFront());
+		Assert.assertEquals(true, peak > data.capacity());
+	}
+	
+	@Test
+	public void testShrinkHysteresis() {
+		GrowableList<Integer> data = new GrowableList<>(4);
+		for (int i=0; i<64; i++) {
+			data.addBack(i);
+		}
+		Assert.assertEquals(64, data.capacity());
+		// bouncing around the point where it grew should not resize.
+		for (int i=0; i<10; i++) {
+			data.addBack(-1);
+			data.removeBack();
+		}
+		Assert.assertEquals(128, data.capacity());
+		while (data.size() > 31) {
+			data.removeFront();
+		}
+		Assert.assertEquals(64, data.capacity());
+		Assert.assertEquals(33, (int) data.getFront());
+	}
+	
+	@Test
+	public void testGrowthPolicies() {
+		GrowableList<Integer> additive = new GrowableList<>(4, GrowthPolicy.additive(3));
+		GrowableList<Integer> capped = new GrowableList<>(4, GrowthPolicy.capped(2.0, 100));
+		for (int i=0; i<5; i++) {
+			additive.addBack(i);
+			capped.addBack(i);
+		}
+		Assert.assertEquals(7, additive.capacity());
+		Assert.assertEquals(8, capped.capacity());
+		for (int i=5; i<300; i++) {
+			capped.addBack(i);
+		}
+		Assert.assertEquals(328, capped.capacity());
+		Assert.assertEquals(299, (int) capped.getBack());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullGrowthPolicy() {
+		new GrowableList<Integer>(4, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBadGrowthFactor() {
+		GrowthPolicy.factor(1.0);
+	}
+	
+	@Test
+	public void testAddAllAt() {
+		GrowableList<String> data = new GrowableList<>();
+		data.addAllBack(Arrays.asList("a", "d"));
+		data.addAllAt(1, Arrays.asList("b", "c"));
+		data.addAllAt(0, new ArrayList<String>());
+		data.addAllAt(4, Arrays.asList("e"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), data.toJava());
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		GrowableList<String> data = new GrowableList<>();
+		data.addAllBack(Arrays.asList("a", "b", "c", "d", "e"));
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a", "d", "e"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(1, 3);
+		Assert.assertEquals(Arrays.asList("a"), data.toJava());
+		data.removeRange(0, 1);
+		Assert.assertEquals(0, data.size());
+		data.addBack("z");
+		Assert.assertEquals("z", data.getBack());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		GrowableList<String> data = new GrowableList<>();
+		data.addAllBack(Arrays.asList("a", "b", "c"));
+		data.removeRange(2, 1);
+	}
+	
+	@Test
+	public void testRandomBulkEditsMatchArrayList() {
+		GrowableList<Integer> data = new GrowableList<>();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(7);
+		for (int step=0; step<500; step++) {
+			int where = rand.nextInt(expected.size()+1);
+			if (rand.nextBoolean()) {
+				List<Integer> batch = new ArrayList<>();
+				int count = rand.nextInt(8);
+				for (int i=0; i<count; i++) {
+					batch.add(step * 10 + i);
+				}
+				data.addAllAt(where, batch);
+				expected.addAll(where, batch);
+			} else {
+				int to = where + rand.nextInt(expected.size() - where + 1);
+				data.removeRange(where, to);
+				expected.subList(where, to).clear();
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), data.getIndex(i));
+		}
+	}
 }
@@ -0,0 +1,125 @@
+package edu.smith.cs.csc212.lists;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+@SuppressWarnings("javadoc")
+public class IntChunkyArrayListTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private IntChunkyArrayList makeEmptyList() {
+		return new IntChunkyArrayList(3);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private IntChunkyArrayList make0123List() {
+		IntChunkyArrayList data = makeEmptyList();
+		data.addBackInt(0);
+		data.addBackInt(1);
+		data.addBackInt(2);
+		data.addBackInt(3);
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Integer> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFrontInt();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		makeEmptyList().getBackInt();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		IntChunkyArrayList data = make0123List();
+		data.getInt(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndexInt(-1, 7);
+	}
+	
+	@Test
+	public void testFrontAndBack() {
+		IntChunkyArrayList data = make0123List();
+		data.addFrontInt(-1);
+		Assert.assertTrue(data.getFrontInt() == -1);
+		Assert.assertTrue(data.getBackInt() == 3);
+		Assert.assertTrue(data.removeFrontInt() == -1);
+		Assert.assertTrue(data.removeBackInt() == 3);
+		Assert.assertEquals(Integer.valueOf(0), data.removeFront());
+		Assert.assertEquals(Integer.valueOf(2), data.removeBack());
+		Assert.assertEquals(1, data.size());
+	}
+	
+	@Test
+	public void testSetInt() {
+		IntChunkyArrayList data = make0123List();
+		data.setInt(2, 20);
+		data.setIndex(3, Integer.valueOf(30));
+		Assert.assertTrue(data.getInt(2) == 20);
+		Assert.assertEquals(Integer.valueOf(30), data.getIndex(3));
+	}
+	
+	@Test
+	public void testBulkCopy() {
+		IntChunkyArrayList data = make0123List();
+		int[] values = new int[20];
+		for (int i=0; i<values.length; i++) {
+			values[i] = 4 + i;
+		}
+		data.addAllInt(values);
+		Assert.assertEquals(24, data.size());
+		int[] all = data.toIntArray();
+		for (int i=0; i<all.length; i++) {
+			Assert.assertTrue(all[i] == i);
+			Assert.assertTrue(data.getInt(i) == i);
+		}
+		int[] some = new int[8];
+		data.copyTo(5, some, 1, 7);
+		for (int i=1; i<some.length; i++) {
+			Assert.assertTrue(some[i] == 4 + i);
+		}
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
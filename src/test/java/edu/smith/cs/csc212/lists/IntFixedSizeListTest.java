@@ -0,0 +1,182 @@
+package edu.smith.cs.csc212.lists;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+@SuppressWarnings("javadoc")
+public class IntFixedSizeListTest {
+	
+	/**
+	 * How many items fit in the lists we test?
+	 */
+	private static final int N = 50;
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private IntFixedSizeList makeEmptyList() {
+		return new IntFixedSizeList(N);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private IntFixedSizeList make0123List() {
+		IntFixedSizeList data = makeEmptyList();
+		data.addBackInt(0);
+		data.addBackInt(1);
+		data.addBackInt(2);
+		data.addBackInt(3);
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Integer> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFrontInt();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		makeEmptyList().removeBackInt();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		makeEmptyList().getFrontInt();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		IntFixedSizeList data = make0123List();
+		data.getInt(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndexInt(-1, 7);
+	}
+	
+	@Test
+	public void testAddBackFull() {
+		IntFixedSizeList items = makeEmptyList();
+		for (int i=0; i<N; i++) {
+			items.addBackInt((i+1)*3);
+			Assert.assertEquals(i+1, items.size());
+			Assert.assertEquals(Integer.valueOf((i+1)*3), items.getBack());
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertEquals(Integer.valueOf((i+1)*3), items.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAddFrontFull() {
+		IntFixedSizeList items = makeEmptyList();
+		for (int i=N-1; i>=0; i--) {
+			items.addFrontInt(i);
+			Assert.assertEquals(N-i, items.size());
+			Assert.assertTrue(items.getFrontInt() == i);
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertTrue(items.getInt(i) == i);
+		}
+	}
+	
+	@Test
+	public void testRemoveFrontAndBack() {
+		IntFixedSizeList data = make0123List();
+		Assert.assertTrue(data.removeFrontInt() == 0);
+		Assert.assertTrue(data.removeBackInt() == 3);
+		Assert.assertEquals(Integer.valueOf(1), data.removeFront());
+		Assert.assertEquals(Integer.valueOf(2), data.removeBack());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test
+	public void testSetInt() {
+		IntFixedSizeList data = make0123List();
+		data.setInt(2, 20);
+		data.setIndex(3, Integer.valueOf(30));
+		Assert.assertTrue(data.getInt(2) == 20);
+		Assert.assertEquals(Integer.valueOf(30), data.getIndex(3));
+	}
+	
+	@Test
+	public void testToIntArray() {
+		IntFixedSizeList data = make0123List();
+		data.addFrontInt(-1);
+		int[] items = data.toIntArray();
+		Assert.assertEquals(5, items.length);
+		for (int i=0; i<items.length; i++) {
+			Assert.assertTrue(items[i] == i-1);
+		}
+	}
+	
+	@Test
+	public void testBulkCopy() {
+		IntFixedSizeList data = new IntFixedSizeList(6);
+		// move the front along so that the copies have to wrap around.
+		for (int i=0; i<4; i++) {
+			data.addBackInt(-1);
+			data.removeFrontInt();
+		}
+		data.addAllInt(new int[] {9, 0, 1, 2, 3, 9}, 1, 4);
+		Assert.assertEquals(4, data.size());
+		int[] output = new int[] {7, 7, 7};
+		data.copyTo(1, output, 1, 2);
+		Assert.assertTrue(output[0] == 7);
+		Assert.assertTrue(output[1] == 1);
+		Assert.assertTrue(output[2] == 2);
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddAllFull() {
+		IntFixedSizeList data = new IntFixedSizeList(3);
+		data.addAllInt(new int[] {1, 2, 3, 4}, 0, 4);
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddFull() {
+		IntFixedSizeList data = new IntFixedSizeList(4);
+		for (int i=0; i<4; i++) {
+			data.addBackInt(i);
+		}
+		Assert.assertEquals(true, data.isFull());
+		data.addFrontInt(4);
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList, N);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
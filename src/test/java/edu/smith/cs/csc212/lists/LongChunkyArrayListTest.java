@@ -0,0 +1,125 @@
+package edu.smith.cs.csc212.lists;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+@SuppressWarnings("javadoc")
+public class LongChunkyArrayListTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private LongChunkyArrayList makeEmptyList() {
+		return new LongChunkyArrayList(3);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private LongChunkyArrayList make0123List() {
+		LongChunkyArrayList data = makeEmptyList();
+		data.addBackLong(0);
+		data.addBackLong(1);
+		data.addBackLong(2);
+		data.addBackLong(3);
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Long> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFrontLong();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		makeEmptyList().getBackLong();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		LongChunkyArrayList data = make0123List();
+		data.getLong(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndexLong(-1, 7);
+	}
+	
+	@Test
+	public void testFrontAndBack() {
+		LongChunkyArrayList data = make0123List();
+		data.addFrontLong(-1);
+		Assert.assertTrue(data.getFrontLong() == -1);
+		Assert.assertTrue(data.getBackLong() == 3);
+		Assert.assertTrue(data.removeFrontLong() == -1);
+		Assert.assertTrue(data.removeBackLong() == 3);
+		Assert.assertEquals(Long.valueOf(0), data.removeFront());
+		Assert.assertEquals(Long.valueOf(2), data.removeBack());
+		Assert.assertEquals(1, data.size());
+	}
+	
+	@Test
+	public void testSetLong() {
+		LongChunkyArrayList data = make0123List();
+		data.setLong(2, 20);
+		data.setIndex(3, Long.valueOf(30));
+		Assert.assertTrue(data.getLong(2) == 20);
+		Assert.assertEquals(Long.valueOf(30), data.getIndex(3));
+	}
+	
+	@Test
+	public void testBulkCopy() {
+		LongChunkyArrayList data = make0123List();
+		long[] values = new long[20];
+		for (int i=0; i<values.length; i++) {
+			values[i] = 4 + i;
+		}
+		data.addAllLong(values);
+		Assert.assertEquals(24, data.size());
+		long[] all = data.toLongArray();
+		for (int i=0; i<all.length; i++) {
+			Assert.assertTrue(all[i] == i);
+			Assert.assertTrue(data.getLong(i) == i);
+		}
+		long[] some = new long[8];
+		data.copyTo(5, some, 1, 7);
+		for (int i=1; i<some.length; i++) {
+			Assert.assertTrue(some[i] == 4 + i);
+		}
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList, Integer.MAX_VALUE, Long::valueOf);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
@@ -0,0 +1,182 @@
+package edu.smith.cs.csc212.lists;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+@SuppressWarnings("javadoc")
+public class LongFixedSizeListTest {
+	
+	/**
+	 * How many items fit in the lists we test?
+	 */
+	private static final int N = 50;
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private LongFixedSizeList makeEmptyList() {
+		return new LongFixedSizeList(N);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private LongFixedSizeList make0123List() {
+		LongFixedSizeList data = makeEmptyList();
+		data.addBackLong(0);
+		data.addBackLong(1);
+		data.addBackLong(2);
+		data.addBackLong(3);
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Long> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFrontLong();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		makeEmptyList().removeBackLong();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		makeEmptyList().getFrontLong();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		LongFixedSizeList data = make0123List();
+		data.getLong(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndexLong(-1, 7);
+	}
+	
+	@Test
+	public void testAddBackFull() {
+		LongFixedSizeList items = makeEmptyList();
+		for (int i=0; i<N; i++) {
+			items.addBackLong((long) (i+1)*3);
+			Assert.assertEquals(i+1, items.size());
+			Assert.assertEquals(Long.valueOf((i+1)*3), items.getBack());
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertEquals(Long.valueOf((i+1)*3), items.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAddFrontFull() {
+		LongFixedSizeList items = makeEmptyList();
+		for (int i=N-1; i>=0; i--) {
+			items.addFrontLong(i);
+			Assert.assertEquals(N-i, items.size());
+			Assert.assertTrue(items.getFrontLong() == i);
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertTrue(items.getLong(i) == i);
+		}
+	}
+	
+	@Test
+	public void testRemoveFrontAndBack() {
+		LongFixedSizeList data = make0123List();
+		Assert.assertTrue(data.removeFrontLong() == 0);
+		Assert.assertTrue(data.removeBackLong() == 3);
+		Assert.assertEquals(Long.valueOf(1), data.removeFront());
+		Assert.assertEquals(Long.valueOf(2), data.removeBack());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test
+	public void testSetLong() {
+		LongFixedSizeList data = make0123List();
+		data.setLong(2, 20);
+		data.setIndex(3, Long.valueOf(30));
+		Assert.assertTrue(data.getLong(2) == 20);
+		Assert.assertEquals(Long.valueOf(30), data.getIndex(3));
+	}
+	
+	@Test
+	public void testToLongArray() {
+		LongFixedSizeList data = make0123List();
+		data.addFrontLong(-1);
+		long[] items = data.toLongArray();
+		Assert.assertEquals(5, items.length);
+		for (int i=0; i<items.length; i++) {
+			Assert.assertTrue(items[i] == i-1);
+		}
+	}
+	
+	@Test
+	public void testBulkCopy() {
+		LongFixedSizeList data = new LongFixedSizeList(6);
+		// move the front along so that the copies have to wrap around.
+		for (int i=0; i<4; i++) {
+			data.addBackLong(-1);
+			data.removeFrontLong();
+		}
+		data.addAllLong(new long[] {9, 0, 1, 2, 3, 9}, 1, 4);
+		Assert.assertEquals(4, data.size());
+		long[] output = new long[] {7, 7, 7};
+		data.copyTo(1, output, 1, 2);
+		Assert.assertTrue(output[0] == 7);
+		Assert.assertTrue(output[1] == 1);
+		Assert.assertTrue(output[2] == 2);
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddAllFull() {
+		LongFixedSizeList data = new LongFixedSizeList(3);
+		data.addAllLong(new long[] {1, 2, 3, 4}, 0, 4);
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddFull() {
+		LongFixedSizeList data = new LongFixedSizeList(4);
+		for (int i=0; i<4; i++) {
+			data.addBackLong(i);
+		}
+		Assert.assertEquals(true, data.isFull());
+		data.addFrontLong(4);
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList, N, Long::valueOf);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
@@ -0,0 +1,144 @@
+package edu.smith.cs.csc212.lists;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+@SuppressWarnings("javadoc")
+public class LongGrowableListTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private LongGrowableList makeEmptyList() {
+		return new LongGrowableList();
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private LongGrowableList make0123List() {
+		LongGrowableList data = makeEmptyList();
+		data.addBackLong(0);
+		data.addBackLong(1);
+		data.addBackLong(2);
+		data.addBackLong(3);
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Long> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFrontLong();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		makeEmptyList().removeBackLong();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		makeEmptyList().getFrontLong();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		LongGrowableList data = make0123List();
+		data.getLong(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndexLong(-1, 7);
+	}
+	
+	@Test
+	public void testAddBackFull() {
+		LongGrowableList items = makeEmptyList();
+		for (int i=0; i<LongGrowableList.START_SIZE*5; i++) {
+			items.addBackLong((long) (i+1)*3);
+			Assert.assertEquals(i+1, items.size());
+			Assert.assertEquals(Long.valueOf((i+1)*3), items.getBack());
+		}
+		for (int i=0; i<LongGrowableList.START_SIZE*5; i++) {
+			Assert.assertEquals(Long.valueOf((i+1)*3), items.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testAddFrontFull() {
+		final int N = LongGrowableList.START_SIZE * 5;
+		LongGrowableList items = makeEmptyList();
+		for (int i=N-1; i>=0; i--) {
+			items.addFrontLong(i);
+			Assert.assertEquals(N-i, items.size());
+			Assert.assertTrue(items.getFrontLong() == i);
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertTrue(items.getLong(i) == i);
+		}
+	}
+	
+	@Test
+	public void testRemoveFrontAndBack() {
+		LongGrowableList data = make0123List();
+		Assert.assertTrue(data.removeFrontLong() == 0);
+		Assert.assertTrue(data.removeBackLong() == 3);
+		Assert.assertEquals(Long.valueOf(1), data.removeFront());
+		Assert.assertEquals(Long.valueOf(2), data.removeBack());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test
+	public void testSetLong() {
+		LongGrowableList data = make0123List();
+		data.setLong(2, 20);
+		data.setIndex(3, Long.valueOf(30));
+		Assert.assertTrue(data.getLong(2) == 20);
+		Assert.assertEquals(Long.valueOf(30), data.getIndex(3));
+	}
+	
+	@Test
+	public void testToLongArray() {
+		LongGrowableList data = make0123List();
+		data.addFrontLong(-1);
+		long[] items = data.toLongArray();
+		Assert.assertEquals(5, items.length);
+		for (int i=0; i<items.length; i++) {
+			Assert.assertTrue(items[i] == i-1);
+		}
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList, Integer.MAX_VALUE, Long::valueOf);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
@@ -0,0 +1,177 @@
+package edu.smith.cs.csc212.lists;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+@SuppressWarnings("javadoc")
+public class MappedGrowableListTest {
+	
+	/**
+	 * A fresh file for every test.
+	 */
+	private File file;
+	
+	@Before
+	public void makeFile() throws IOException {
+		file = File.createTempFile("MappedGrowableListTest", ".list");
+		file.delete();
+	}
+	
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+	
+	/**
+	 * Open the list in our test file.
+	 * @return the list stored there.
+	 */
+	private MappedGrowableList<Long> open() throws IOException {
+		return new MappedGrowableList<>(file, RecordCodec.LONG);
+	}
+	
+	@Test
+	public void testEmpty() throws IOException {
+		try (MappedGrowableList<Long> data = open()) {
+			Assert.assertEquals(0, data.size());
+			Assert.assertEquals(true, data.isEmpty());
+		}
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() throws IOException {
+		try (MappedGrowableList<Long> data = open()) {
+			data.removeFront();
+		}
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() throws IOException {
+		try (MappedGrowableList<Long> data = open()) {
+			data.addBack(1L);
+			data.getIndex(1);
+		}
+	}
+	
+	@Test
+	public void testAddBackFull() throws IOException {
+		try (MappedGrowableList<Long> data = open()) {
+			for (long i=0; i<MappedGrowableList.START_SIZE*5; i++) {
+				data.addBack((i+1)*3);
+				Assert.assertEquals(i+1, data.size());
+				Assert.assertEquals((i+1)*3, (long) data.getBack());
+			}
+			for (int i=0; i<MappedGrowableList.START_SIZE*5; i++) {
+				Assert.assertEquals((i+1)*3L, (long) data.getIndex(i));
+			}
+		}
+	}
+	
+	@Test
+	public void testReopen() throws IOException {
+		final int N = MappedGrowableList.START_SIZE * 3;
+		try (MappedGrowableList<Long> data = open()) {
+			for (long i=0; i<N; i++) {
+				data.addBack(i);
+			}
+			data.removeBack();
+			data.setIndex(0, -1L);
+		}
+		try (MappedGrowableList<Long> data = open()) {
+			Assert.assertEquals(N-1, data.size());
+			Assert.assertEquals(-1L, (long) data.getFront());
+			for (int i=1; i<N-1; i++) {
+				Assert.assertEquals(i, (long) data.getIndex(i));
+			}
+			data.addBack(100L);
+			Assert.assertEquals(N, data.size());
+		}
+	}
+	
+	@Test(expected=IOException.class)
+	public void testReopenWrongWidth() throws IOException {
+		try (MappedGrowableList<Long> data = open()) {
+			data.addBack(1L);
+		}
+		// this should throw; if it doesn't, close it and fail.
+		new MappedGrowableList<>(file, RecordCodec.INT).close();
+		Assert.fail("Should not open a file of longs as ints.");
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() throws IOException {
+		List<Long> expected;
+		try (MappedGrowableList<Long> data = open()) {
+			expected = RandomEdits.matchArrayList(() -> data, Integer.MAX_VALUE, Long::valueOf);
+		}
+		try (MappedGrowableList<Long> data = open()) {
+			Assert.assertEquals(expected, data.toJava());
+		}
+	}
+	@Test
+	public void testManySegments() throws IOException {
+		List<Long> expected = new ArrayList<>();
+		try (MappedGrowableList<Long> data = new MappedGrowableList<>(file, RecordCodec.LONG, 4)) {
+			Random rand = new Random(11);
+			for (long step=0; step<500; step++) {
+				int choice = rand.nextInt(5);
+				if (expected.isEmpty() || choice < 3) {
+					int where = rand.nextInt(expected.size()+1);
+					data.addIndex(where, step);
+					expected.add(where, step);
+				} else {
+					int where = rand.nextInt(expected.size());
+					Assert.assertEquals(expected.remove(where), data.removeIndex(where));
+				}
+			}
+			Assert.assertTrue(data.segmentCount() > 1);
+			Assert.assertEquals(expected, data.toJava());
+		}
+		// the file looks the same no matter how it was mapped.
+		try (MappedGrowableList<Long> data = open()) {
+			Assert.assertEquals(1, data.segmentCount());
+			Assert.assertEquals(expected, data.toJava());
+		}
+		try (MappedGrowableList<Long> data = new MappedGrowableList<>(file, RecordCodec.LONG, 3)) {
+			Assert.assertEquals(expected, data.toJava());
+			for (long x : expected) {
+				data.addBack(x);
+			}
+			Assert.assertEquals(2 * expected.size(), data.size());
+			Assert.assertEquals(expected.get(0), data.getIndex(expected.size()));
+		}
+	}
+	
+	@Test
+	public void testAddNullChangesNothing() throws IOException {
+		try (MappedGrowableList<Long> data = open()) {
+			data.addBack(1L);
+			data.addBack(2L);
+			try {
+				data.addIndex(1, null);
+				Assert.fail("null should not be allowed");
+			} catch (IllegalArgumentException expected) {
+				// checked before any records were slid over.
+			}
+			try {
+				data.setIndex(0, null);
+				Assert.fail("null should not be allowed");
+			} catch (IllegalArgumentException expected) {
+				// and nothing was written.
+			}
+			Assert.assertEquals(Arrays.asList(1L, 2L), data.toJava());
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package edu.smith.cs.csc212.lists;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+@SuppressWarnings("javadoc")
+public class OffHeapChunkyArrayListTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private ListADT<Long> makeEmptyList() {
+		return new OffHeapChunkyArrayList<>(3, RecordCodec.LONG);
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [0, 1, 2, 3] - a small, predictable list for many tests.
+	 */
+	private ListADT<Long> make0123List() {
+		ListADT<Long> data = makeEmptyList();
+		for (long i=0; i<4; i++) {
+			data.addBack(i);
+		}
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<Long> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		makeEmptyList().getBack();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		ListADT<Long> data = make0123List();
+		data.getIndex(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		make0123List().addIndex(-1, 7L);
+	}
+	
+	@Test
+	public void testFrontAndBack() {
+		ListADT<Long> data = make0123List();
+		data.addFront(-1L);
+		Assert.assertEquals(-1L, (long) data.getFront());
+		Assert.assertEquals(3L, (long) data.getBack());
+		Assert.assertEquals(-1L, (long) data.removeFront());
+		Assert.assertEquals(3L, (long) data.removeBack());
+		Assert.assertEquals(Arrays.asList(0L, 1L, 2L), data.toJava());
+	}
+	
+	@Test
+	public void testReusesChunks() {
+		ListADT<Long> data = makeEmptyList();
+		for (int round=0; round<3; round++) {
+			for (long i=0; i<100; i++) {
+				data.addBack(i * round);
+			}
+			for (long i=0; i<100; i++) {
+				Assert.assertEquals(i * round, (long) data.removeFront());
+			}
+		}
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	/**
+	 * A record that is bigger than one number, to test custom codecs.
+	 */
+	private static class Point {
+		final int x;
+		final int y;
+		Point(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+	
+	@Test
+	public void testCustomCodec() {
+		RecordCodec<Point> codec = new RecordCodec<Point>() {
+			@Override
+			public int width() {
+				return 8;
+			}
+			@Override
+			public void write(ByteBuffer buffer, int offset, Point item) {
+				buffer.putInt(offset, item.x);
+				buffer.putInt(offset + 4, item.y);
+			}
+			@Override
+			public Point read(ByteBuffer buffer, int offset) {
+				return new Point(buffer.getInt(offset), buffer.getInt(offset + 4));
+			}
+		};
+		ListADT<Point> data = new OffHeapChunkyArrayList<>(4, codec);
+		for (int i=0; i<10; i++) {
+			data.addIndex(data.size() / 2, new Point(i, -i));
+		}
+		data.setIndex(0, new Point(100, 200));
+		Assert.assertEquals(100, data.getIndex(0).x);
+		Assert.assertEquals(200, data.getIndex(0).y);
+		for (int i=1; i<10; i++) {
+			Point p = data.getIndex(i);
+			Assert.assertEquals(-p.x, p.y);
+		}
+	}
+	
+	@Test
+	public void testRandomEditsMatchArrayList() {
+		RandomEdits.matchArrayList(this::makeEmptyList, Integer.MAX_VALUE, Long::valueOf);
+	}
+	
+	@Test
+	public void testAddNullChangesNothing() {
+		ListADT<Long> data = makeEmptyList();
+		try {
+			data.addFront(null);
+			Assert.fail("null should not be allowed");
+		} catch (IllegalArgumentException expected) {
+			// checked before an empty chunk was made for it.
+		}
+		Assert.assertEquals(0, data.size());
+		data.addBack(1L);
+		Assert.assertEquals(Arrays.asList(1L), data.toJava());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddBackNull() {
+		makeEmptyList().addBack(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddIndexNull() {
+		make0123List().addIndex(2, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetIndexNull() {
+		make0123List().setIndex(1, null);
+	}
+}
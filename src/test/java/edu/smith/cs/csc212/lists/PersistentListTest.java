@@ -0,0 +1,207 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.ListADT;
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+
+@SuppressWarnings("javadoc")
+public class PersistentListTest {
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [a, b, c, d] - a small, predictable list for many tests.
+	 */
+	private PersistentList<String> makeABCDList() {
+		return PersistentList.<String>empty().withBack("a").withBack("b").withBack("c").withBack("d");
+	}
+	
+	@Test
+	public void testEmpty() {
+		PersistentList<String> data = PersistentList.empty();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		PersistentList.empty().getFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testWithoutBackCrash() {
+		PersistentList.empty().withoutBack();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		makeABCDList().getIndex(4);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testWithIndexLow() {
+		makeABCDList().withIndex(-1, "x");
+	}
+	
+	@Test
+	public void testWithBack() {
+		PersistentList<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("a", data.getFront());
+		Assert.assertEquals("d", data.getBack());
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test
+	public void testOldVersionsDontChange() {
+		PersistentList<String> abcd = makeABCDList();
+		PersistentList<String> axcd = abcd.withIndex(1, "x");
+		PersistentList<String> abc = abcd.withoutBack();
+		PersistentList<String> abycd = abcd.withInsert(2, "y");
+		PersistentList<String> acd = abcd.withoutIndex(1);
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), abcd.toJava());
+		Assert.assertEquals(Arrays.asList("a", "x", "c", "d"), axcd.toJava());
+		Assert.assertEquals(Arrays.asList("a", "b", "c"), abc.toJava());
+		Assert.assertEquals(Arrays.asList("a", "b", "y", "c", "d"), abycd.toJava());
+		Assert.assertEquals(Arrays.asList("a", "c", "d"), acd.toJava());
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testAddBackNotAllowed() {
+		ListADT<String> data = makeABCDList();
+		data.addBack("e");
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testSetIndexNotAllowed() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(0, "e");
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testRemoveFrontNotAllowed() {
+		ListADT<String> data = makeABCDList();
+		data.removeFront();
+	}
+	
+	@Test
+	public void testBigList() {
+		// big enough for a tree three levels tall.
+		final int N = 40000;
+		PersistentList<Integer> data = PersistentList.empty();
+		for (int i=0; i<N; i++) {
+			data = data.withBack(i);
+		}
+		Assert.assertEquals(N, data.size());
+		for (int i=0; i<N; i++) {
+			Assert.assertEquals((Integer) i, data.getIndex(i));
+		}
+		int expected = 0;
+		for (int item : data) {
+			Assert.assertEquals(expected++, item);
+		}
+		
+		PersistentList<Integer> changed = data;
+		for (int i=0; i<N; i+=7) {
+			changed = changed.withIndex(i, -i);
+		}
+		for (int i=0; i<N; i++) {
+			Assert.assertEquals((Integer) (i % 7 == 0 ? -i : i), changed.getIndex(i));
+			Assert.assertEquals((Integer) i, data.getIndex(i));
+		}
+		
+		// shrink all the way back down, through every tree height.
+		for (int i=N-1; i>=0; i--) {
+			Assert.assertEquals((Integer) i, data.getBack());
+			data = data.withoutBack();
+			Assert.assertEquals(i, data.size());
+		}
+		Assert.assertTrue(data.isEmpty());
+	}
+	
+	@Test
+	public void testBuilder() {
+		final int N = 40000;
+		PersistentList.Builder<Integer> builder = PersistentList.builder();
+		for (int i=0; i<N; i++) {
+			builder.addBack(i);
+		}
+		builder.setIndex(5, -5).setIndex(N-1, -1);
+		PersistentList<Integer> first = builder.build();
+		Assert.assertEquals(N, first.size());
+		Assert.assertEquals((Integer) (-5), first.getIndex(5));
+		Assert.assertEquals((Integer) (-1), first.getBack());
+		
+		// keep going after build; the first list doesn't see it.
+		builder.setIndex(5, 5).setIndex(1000, -1000).addBack(N);
+		PersistentList<Integer> second = builder.build();
+		Assert.assertEquals((Integer) (-5), first.getIndex(5));
+		Assert.assertEquals((Integer) 1000, first.getIndex(1000));
+		Assert.assertEquals(N, first.size());
+		Assert.assertEquals((Integer) 5, second.getIndex(5));
+		Assert.assertEquals((Integer) (-1000), second.getIndex(1000));
+		Assert.assertEquals(N + 1, second.size());
+	}
+	
+	@Test
+	public void testToBuilder() {
+		PersistentList<String> abcd = makeABCDList();
+		PersistentList<String> changed = abcd.toBuilder().setIndex(0, "z").addBack("e").build();
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), abcd.toJava());
+		Assert.assertEquals(Arrays.asList("z", "b", "c", "d", "e"), changed.toJava());
+		Assert.assertEquals("b", abcd.toBuilder().getIndex(1));
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testBuilderBadIndex() {
+		makeABCDList().toBuilder().setIndex(4, "x");
+	}
+	
+	@Test
+	public void testRandomVersionsMatchArrayList() {
+		List<PersistentList<Integer>> versions = new ArrayList<>();
+		List<List<Integer>> expected = new ArrayList<>();
+		versions.add(PersistentList.<Integer>empty());
+		expected.add(new ArrayList<Integer>());
+		Random rand = new Random(42);
+		for (int step=0; step<3000; step++) {
+			// start from any old version, not just the newest one.
+			int which = rand.nextInt(versions.size());
+			PersistentList<Integer> from = versions.get(which);
+			List<Integer> fromExpected = new ArrayList<>(expected.get(which));
+			int choice = rand.nextInt(10);
+			PersistentList<Integer> next;
+			if (fromExpected.isEmpty() || choice < 5) {
+				next = from.withBack(step);
+				fromExpected.add(step);
+			} else if (choice < 7) {
+				int where = rand.nextInt(fromExpected.size());
+				next = from.withIndex(where, -step);
+				fromExpected.set(where, -step);
+			} else if (choice < 8) {
+				next = from.withoutBack();
+				fromExpected.remove(fromExpected.size() - 1);
+			} else if (choice < 9) {
+				int where = rand.nextInt(fromExpected.size() + 1);
+				next = from.withInsert(where, step);
+				fromExpected.add(where, step);
+			} else {
+				int where = rand.nextInt(fromExpected.size());
+				next = from.withoutIndex(where);
+				fromExpected.remove(where);
+			}
+			versions.add(next);
+			expected.add(fromExpected);
+		}
+		for (int i=0; i<versions.size(); i++) {
+			Assert.assertEquals(expected.get(i), versions.get(i).toJava());
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+
+import me.jjfoley.adt.ListADT;
+
+/**
+ * A test every list shares: make thousands of random edits to a list and to
+ * a java.util.ArrayList, and check that they always agree.
+ *
+ * @author jfoley
+ *
+ */
+final class RandomEdits {
+	/**
+	 * How many edits to make.
+	 */
+	private static final int STEPS = 5000;
+
+	/**
+	 * Only static methods here.
+	 */
+	private RandomEdits() {
+	}
+
+	/**
+	 * Check a list of Integer that can grow as big as it needs to.
+	 * @param maker - makes the empty list to test.
+	 */
+	static void matchArrayList(Supplier<? extends ListADT<Integer>> maker) {
+		matchArrayList(maker, Integer.MAX_VALUE, Integer::valueOf);
+	}
+
+	/**
+	 * Check a list of Integer with a maximum size, like a FixedSizeList.
+	 * @param maker - makes the empty list to test.
+	 * @param maxSize - the most items it holds; once full, only set and remove.
+	 */
+	static void matchArrayList(Supplier<? extends ListADT<Integer>> maker, int maxSize) {
+		matchArrayList(maker, maxSize, Integer::valueOf);
+	}
+
+	/**
+	 * Check any list: every ListADT edit, at random places, with the size
+	 * checked after every step and every item checked at the end.
+	 * @param maker - makes the empty list to test.
+	 * @param maxSize - the most items it holds; once full, only set and remove.
+	 * @param item - turns a step number (possibly negative) into an item.
+	 * @return what the list should hold now, for tests that look again later.
+	 */
+	static <T> List<T> matchArrayList(Supplier<? extends ListADT<T>> maker, int maxSize, IntFunction<T> item) {
+		ListADT<T> data = maker.get();
+		List<T> expected = new ArrayList<>();
+		Random rand = new Random(42);
+		for (int step=0; step<STEPS; step++) {
+			int choice = rand.nextInt(8);
+			if (expected.size() == maxSize) {
+				choice = 4 + rand.nextInt(4);
+			}
+			if (expected.isEmpty() || choice < 2) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, item.apply(step));
+				expected.add(where, item.apply(step));
+			} else if (choice == 2) {
+				data.addFront(item.apply(step));
+				expected.add(0, item.apply(step));
+			} else if (choice == 3) {
+				data.addBack(item.apply(step));
+				expected.add(item.apply(step));
+			} else if (choice == 4) {
+				int where = rand.nextInt(expected.size());
+				Assert.assertEquals(expected.get(where), data.getIndex(where));
+				data.setIndex(where, item.apply(-step));
+				expected.set(where, item.apply(-step));
+			} else if (choice == 5) {
+				Assert.assertEquals(expected.remove(0), data.removeFront());
+			} else if (choice == 6) {
+				Assert.assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else {
+				int where = rand.nextInt(expected.size());
+				Assert.assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			Assert.assertEquals(expected.size(), data.size());
+		}
+		Assert.assertEquals(expected, data.toJava());
+		return expected;
+	}
+}
@@ -0,0 +1,238 @@
+package edu.smith.cs.csc212.lists;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.jjfoley.adt.errors.BadIndexError;
+import me.jjfoley.adt.errors.EmptyListError;
+import me.jjfoley.adt.errors.RanOutOfSpaceError;
+
+@SuppressWarnings("javadoc")
+public class SpscRingQueueTest {
+	
+	/**
+	 * Make a new empty queue.
+	 * @param capacity - how many items it should hold.
+	 * @return an empty queue to be tested.
+	 */
+	private <T> RingQueue<T> makeEmptyQueue(int capacity) {
+		return new SpscRingQueue<>(capacity);
+	}
+	
+	@Test
+	public void testCapacityRoundsUp() {
+		Assert.assertEquals(1, makeEmptyQueue(1).capacity());
+		Assert.assertEquals(4, makeEmptyQueue(3).capacity());
+		Assert.assertEquals(4, makeEmptyQueue(4).capacity());
+		Assert.assertEquals(1024, makeEmptyQueue(1000).capacity());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testCapacityZero() {
+		makeEmptyQueue(0);
+	}
+	
+	@Test
+	public void testEmpty() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		Assert.assertEquals(0, data.size());
+		Assert.assertTrue(data.isEmpty());
+		Assert.assertFalse(data.isFull());
+		Assert.assertNull(data.poll());
+		Assert.assertNull(data.peek());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontEmpty() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		data.removeFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontEmpty() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		data.getFront();
+	}
+	
+	@Test
+	public void testFirstInFirstOut() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		data.addBack("a");
+		Assert.assertTrue(data.offer("b"));
+		data.addBack("c");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("a", data.peek());
+		Assert.assertEquals("a", data.getFront());
+		Assert.assertEquals("c", data.getBack());
+		Assert.assertEquals("b", data.getIndex(1));
+		Assert.assertEquals(Arrays.asList("a", "b", "c"), data.toJava());
+		Assert.assertEquals("a", data.poll());
+		Assert.assertEquals("b", data.removeFront());
+		Assert.assertEquals("c", data.poll());
+		Assert.assertNull(data.poll());
+	}
+	
+	@Test
+	public void testFull() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		for (String x : Arrays.asList("a", "b", "c", "d")) {
+			Assert.assertTrue(data.offer(x));
+		}
+		Assert.assertTrue(data.isFull());
+		Assert.assertFalse(data.offer("e"));
+		Assert.assertEquals("a", data.poll());
+		Assert.assertTrue(data.offer("e"));
+		Assert.assertEquals(Arrays.asList("b", "c", "d", "e"), data.toJava());
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddBackFull() {
+		RingQueue<String> data = makeEmptyQueue(2);
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testOfferNull() {
+		RingQueue<String> data = makeEmptyQueue(2);
+		data.offer(null);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		data.addBack("a");
+		data.getIndex(1);
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testAddFront() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		data.addFront("a");
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testRemoveBack() {
+		RingQueue<String> data = makeEmptyQueue(4);
+		data.addBack("a");
+		data.removeBack();
+	}
+	
+	@Test
+	public void testWrapAround() {
+		RingQueue<Integer> data = makeEmptyQueue(8);
+		int next = 0;
+		for (int i=0; i<1000; i++) {
+			data.addBack(i);
+			if (i % 3 != 0) {
+				Assert.assertEquals((Integer) next++, data.removeFront());
+			}
+			Assert.assertEquals(i + 1 - next, data.size());
+			if (data.isFull()) {
+				while (!data.isEmpty()) {
+					Assert.assertEquals((Integer) next++, data.poll());
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testOfferAllAndDrainTo() {
+		RingQueue<Integer> data = makeEmptyQueue(8);
+		Assert.assertEquals(5, data.offerAll(Arrays.asList(0, 1, 2, 3, 4)));
+		Assert.assertEquals(3, data.offerAll(Arrays.asList(5, 6, 7, 8, 9)));
+		Assert.assertEquals(0, data.offerAll(Arrays.asList(10)));
+		Assert.assertTrue(data.isFull());
+		
+		List<Integer> out = new ArrayList<>();
+		Assert.assertEquals(3, data.drainTo(out, 3));
+		Assert.assertEquals(Arrays.asList(0, 1, 2), out);
+		Assert.assertEquals(2, data.offerAll(Arrays.asList(8, 9)));
+		Assert.assertEquals(7, data.drainTo(out));
+		Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), out);
+		Assert.assertTrue(data.isEmpty());
+		Assert.assertEquals(0, data.drainTo(out));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testDrainToNegativeLimit() {
+		RingQueue<Integer> data = makeEmptyQueue(8);
+		data.addBack(1);
+		data.drainTo(new ArrayList<>(), -1);
+	}
+	
+	@Test
+	public void testDrainToZeroLimit() {
+		RingQueue<Integer> data = makeEmptyQueue(8);
+		data.addBack(1);
+		Assert.assertEquals(0, data.drainTo(new ArrayList<>(), 0));
+		Assert.assertEquals(1, data.size());
+	}
+	
+	@Test
+	public void testOfferAllNullAddsNothing() {
+		RingQueue<String> data = makeEmptyQueue(8);
+		try {
+			data.offerAll(Arrays.asList("a", null));
+			Assert.fail("null should not be allowed");
+		} catch (IllegalArgumentException expected) {
+			// checked before anything was added.
+		}
+		Assert.assertTrue(data.isEmpty());
+	}
+	
+	@Test
+	public void testHandOffBetweenThreads() throws InterruptedException {
+		final RingQueue<Integer> data = makeEmptyQueue(64);
+		final int N = 100000;
+		Thread producer = new Thread(() -> {
+			for (int i=0; i<N; i++) {
+				if (i % 10 == 0) {
+					// sometimes in a batch, sometimes one at a time.
+					List<Integer> batch = new ArrayList<>();
+					for (int j=0; j<10; j++) {
+						batch.add(i + j);
+					}
+					int done = 0;
+					while (done < batch.size()) {
+						int added = data.offerAll(batch.subList(done, batch.size()));
+						if (added == 0) {
+							Thread.yield();
+						}
+						done += added;
+					}
+					i += 9;
+				} else {
+					while (!data.offer(i)) {
+						Thread.yield();
+					}
+				}
+			}
+		});
+		producer.start();
+		List<Integer> out = new ArrayList<>();
+		int expected = 0;
+		while (expected < N) {
+			out.clear();
+			data.drainTo(out, 16);
+			for (Integer x : out) {
+				Assert.assertEquals((Integer) expected++, x);
+			}
+			Integer single = data.poll();
+			if (single != null) {
+				Assert.assertEquals((Integer) expected++, single);
+			} else if (out.isEmpty()) {
+				Thread.yield();
+			}
+		}
+		producer.join();
+		Assert.assertTrue(data.isEmpty());
+		Assert.assertEquals(Collections.emptyList(), data.toJava());
+	}
+}